@@ -0,0 +1,12 @@
+package com.selimhorri.app.config.auth;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EdgeAuthProperties.class)
+public class EdgeAuthConfig {
+	
+	
+	
+}
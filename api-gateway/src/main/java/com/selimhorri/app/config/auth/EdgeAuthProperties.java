@@ -0,0 +1,36 @@
+package com.selimhorri.app.config.auth;
+
+import java.util.List;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.edge-auth")
+@Validated
+@Data
+public class EdgeAuthProperties {
+	
+	private boolean enabled = true;
+	
+	/**
+	 * Base64 HS256 key the tokens are signed with, the same JWT_SECRET proxy-client issues them with
+	 */
+	@NotBlank
+	private String jwtSecret;
+	
+	@Pattern(regexp = "(?!changeit$)(|.*\\S.*)", message = "must not be blank or the changeit placeholder")
+	private String identitySecret;
+	
+	private List<String> paths = List.of("/app/**");
+	private List<String> protectedPaths = List.of("/app/api/**");
+	private List<String> publicPaths = List.of(
+			"/app/api/authenticate/**", 
+			"/app/api/categories/**", 
+			"/app/api/products/**");
+	
+}
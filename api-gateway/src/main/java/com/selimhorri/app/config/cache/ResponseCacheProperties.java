@@ -0,0 +1,26 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import javax.validation.constraints.Pattern;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.response-cache")
+@Validated
+@Data
+public class ResponseCacheProperties {
+	
+	private boolean enabled = true;
+	private DataSize maximumSize = DataSize.ofMegabytes(64);
+	private DataSize maximumEntrySize = DataSize.ofMegabytes(1);
+	private Duration defaultTtl = Duration.ofSeconds(60);
+	
+	@Pattern(regexp = "(?!changeit$)(|.*\\S.*)", message = "must not be blank or the changeit placeholder")
+	private String evictionSecret;
+	
+}
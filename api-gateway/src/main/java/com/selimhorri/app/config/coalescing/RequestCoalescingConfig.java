@@ -0,0 +1,16 @@
+package com.selimhorri.app.config.coalescing;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RequestCoalescingProperties.class)
+public class RequestCoalescingConfig {
+	
+	
+	
+}
+
+
+
+
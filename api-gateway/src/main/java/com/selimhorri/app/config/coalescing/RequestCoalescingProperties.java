@@ -0,0 +1,27 @@
+package com.selimhorri.app.config.coalescing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.request-coalescing")
+@Data
+public class RequestCoalescingProperties {
+	
+	private boolean enabled = true;
+	private Duration maxWait = Duration.ofSeconds(2);
+	private DataSize maximumResponseSize = DataSize.ofMegabytes(1);
+	private List<String> keyHeaders = new ArrayList<>(List.of(
+			HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING, HttpHeaders.ACCEPT_LANGUAGE));
+	
+}
+
+
+
+
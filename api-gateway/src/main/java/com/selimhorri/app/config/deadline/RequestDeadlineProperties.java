@@ -0,0 +1,17 @@
+package com.selimhorri.app.config.deadline;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.request-deadline")
+@Data
+public class RequestDeadlineProperties {
+	
+	private boolean enabled = true;
+	private Duration defaultTimeout = Duration.ofSeconds(10);
+	private Duration maxTimeout = Duration.ofSeconds(30);
+	
+}
@@ -0,0 +1,159 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Feeds {@link PeakEwmaLoadBalancer} from the load balancer lifecycle, which the gateway, 
+ * {@code @LoadBalanced} RestTemplates and Feign all go through. Failed requests count at least 
+ * the penalty, so an instance that fails fast does not attract traffic. Requests whose completion 
+ * is never reported, e.g. cancelled exchanges, are dropped after {@code max-request-age}, and so is 
+ * the instance they hold for their hedged request.
+ */
+public class InstanceStatsRecorder implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+	
+	private final LoadBalancerProperties loadBalancerProperties;
+	private final MeterRegistry meterRegistry;
+	private final ConcurrentMap<String, InstanceStats> instances = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, HedgedInstance> hedgedInstances = new ConcurrentHashMap<>();
+	private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+	
+	public InstanceStatsRecorder(final LoadBalancerProperties loadBalancerProperties, final MeterRegistry meterRegistry) {
+		this.loadBalancerProperties = loadBalancerProperties;
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public boolean supports(final Class requestContextClass, final Class responseClass, final Class serverTypeClass) {
+		return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+	}
+	
+	@Override
+	public void onStart(final Request<Object> request) {
+		
+	}
+	
+	@Override
+	public void onStartRequest(final Request<Object> request, final Response<ServiceInstance> lbResponse) {
+		if (lbResponse == null || !lbResponse.hasServer())
+			return;
+		final long now = System.nanoTime();
+		final String key = key(lbResponse.getServer());
+		this.instances.computeIfAbsent(key, k -> this.register(lbResponse.getServer(), now))
+				.start(request, now);
+		final String hedgeId = HedgedAttempt.current();
+		if (hedgeId != null)
+			this.hedgedInstances.putIfAbsent(hedgeId, new HedgedInstance(key, now));
+		this.sweep(now);
+	}
+	
+	@Override
+	public void onComplete(final CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		
+		final Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+		if (lbResponse == null || !lbResponse.hasServer())
+			return;
+		final String key = key(lbResponse.getServer());
+		final String hedgeId = HedgedAttempt.current();
+		if (hedgeId != null)
+			this.hedgedInstances.computeIfPresent(hedgeId, (id, hedged) -> hedged.key.equals(key) ? null : hedged);
+		final InstanceStats stats = this.instances.get(key);
+		if (stats == null)
+			return;
+		
+		final boolean failed = completionContext.status() == CompletionContext.Status.FAILED;
+		final long latency = stats.complete(completionContext.getLoadBalancerRequest(), System.nanoTime(), 
+				failed ? this.loadBalancerProperties.getPenalty().toNanos() : 0L);
+		if (latency >= 0)
+			this.meterRegistry.counter("loadbalancer.instance.requests", 
+					"service", stats.getServiceId(), "instance", stats.getInstance(), "outcome", failed ? "failure" : "success")
+					.increment();
+	}
+	
+	public double cost(final ServiceInstance instance) {
+		final InstanceStats stats = this.instances.get(key(instance));
+		return (stats != null) ? stats.cost(System.nanoTime(), this.loadBalancerProperties.getPenalty().toNanos()) : 0.0d;
+	}
+	
+	/**
+	 * @return whether the instance is already serving another attempt of the same hedged request
+	 */
+	public boolean isServing(final String hedgeId, final ServiceInstance instance) {
+		final HedgedInstance hedged = this.hedgedInstances.get(hedgeId);
+		return hedged != null && hedged.key.equals(key(instance));
+	}
+	
+	private InstanceStats register(final ServiceInstance instance, final long now) {
+		
+		final InstanceStats stats = new InstanceStats(String.valueOf(instance.getServiceId()), 
+				instance.getHost() + ":" + instance.getPort(), this.loadBalancerProperties.getDecayTime().toNanos(), now);
+		final Tags tags = Tags.of("service", stats.getServiceId(), "instance", stats.getInstance());
+		
+		stats.setMeters(List.of(
+				Gauge.builder("loadbalancer.instance.inflight", stats, InstanceStats::inFlight)
+						.tags(tags)
+						.register(this.meterRegistry),
+				Gauge.builder("loadbalancer.instance.latency.ewma", stats, 
+								instanceStats -> instanceStats.latencyNanos(System.nanoTime()) / TimeUnit.MILLISECONDS.toNanos(1))
+						.tags(tags)
+						.baseUnit("milliseconds")
+						.register(this.meterRegistry)));
+		return stats;
+	}
+	
+	private void sweep(final long now) {
+		
+		final long last = this.lastSweepNanos.get();
+		final long maxRequestAgeNanos = this.loadBalancerProperties.getMaxRequestAge().toNanos();
+		if (now - last < maxRequestAgeNanos || !this.lastSweepNanos.compareAndSet(last, now))
+			return;
+		
+		final long idleNanos = this.loadBalancerProperties.getIdleTimeout().toNanos();
+		this.instances.values().removeIf(stats -> {
+			stats.sweep(now, maxRequestAgeNanos);
+			if (!stats.isIdle(now, idleNanos))
+				return false;
+			stats.getMeters().forEach(this.meterRegistry::remove);
+			this.meterRegistry.find("loadbalancer.instance.requests")
+					.tags("service", stats.getServiceId(), "instance", stats.getInstance())
+					.meters()
+					.forEach(this.meterRegistry::remove);
+			return true;
+		});
+		this.hedgedInstances.values().removeIf(hedged -> now - hedged.startedNanos >= maxRequestAgeNanos);
+	}
+	
+	private static String key(final ServiceInstance instance) {
+		return instance.getServiceId() + '|' + instance.getHost() + ':' + instance.getPort();
+	}
+	
+	private static final class HedgedInstance {
+		
+		private final String key;
+		private final long startedNanos;
+		
+		private HedgedInstance(final String key, final long startedNanos) {
+			this.key = key;
+			this.startedNanos = startedNanos;
+		}
+		
+	}
+	
+	
+	
+}
@@ -0,0 +1,88 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Power of two choices over peak EWMA cost: two distinct instances are drawn at random and the 
+ * one with the lower {@link InstanceStatsRecorder#cost(ServiceInstance) cost} wins. Sampling keeps 
+ * a single slow pod from being either flooded or starved, while the cost steers most traffic away from it.
+ * Attempts of a {@link HedgedAttempt hedged request} are kept off the instance already serving 
+ * one of them whenever another instance is available.
+ */
+@Slf4j
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+	
+	private final String serviceId;
+	private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+	private final InstanceStatsRecorder instanceStatsRecorder;
+	
+	public PeakEwmaLoadBalancer(final String serviceId, 
+			final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider, 
+			final InstanceStatsRecorder instanceStatsRecorder) {
+		this.serviceId = serviceId;
+		this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+		this.instanceStatsRecorder = instanceStatsRecorder;
+	}
+	
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Mono<Response<ServiceInstance>> choose(final Request request) {
+		final String hedgeId = HedgedAttempt.current();
+		final ServiceInstanceListSupplier supplier = this.serviceInstanceListSupplierProvider
+				.getIfAvailable(NoopServiceInstanceListSupplier::new);
+		return supplier.get(request)
+				.next()
+				.map(instances -> {
+					final Response<ServiceInstance> response = this.choose(this.withoutHedgedInstance(instances, hedgeId));
+					if (supplier instanceof SelectedInstanceCallback && response.hasServer())
+						((SelectedInstanceCallback) supplier).selectedServiceInstance(response.getServer());
+					return response;
+				});
+	}
+	
+	private List<ServiceInstance> withoutHedgedInstance(final List<ServiceInstance> instances, final String hedgeId) {
+		if (hedgeId == null || instances.size() < 2)
+			return instances;
+		final List<ServiceInstance> others = instances.stream()
+				.filter(instance -> !this.instanceStatsRecorder.isServing(hedgeId, instance))
+				.collect(Collectors.toUnmodifiableList());
+		return others.isEmpty() ? instances : others;
+	}
+	
+	private Response<ServiceInstance> choose(final List<ServiceInstance> instances) {
+		
+		if (instances.isEmpty()) {
+			log.warn("** No servers available for service: {} *\n", this.serviceId);
+			return new EmptyResponse();
+		}
+		if (instances.size() == 1)
+			return new DefaultResponse(instances.get(0));
+		
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final int first = random.nextInt(instances.size());
+		final int second = (first + 1 + random.nextInt(instances.size() - 1)) % instances.size();
+		
+		final ServiceInstance a = instances.get(first);
+		final ServiceInstance b = instances.get(second);
+		return new DefaultResponse((this.instanceStatsRecorder.cost(b) < this.instanceStatsRecorder.cost(a)) ? b : a);
+	}
+	
+	
+	
+}
@@ -0,0 +1,20 @@
+package com.selimhorri.app.config.ratelimit;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+public class RateLimitProperties {
+	
+	private int replenishRate = 100;
+	private int burstCapacity = 200;
+	private int requestedTokens = 1;
+	private long maximumBuckets = 100_000;
+	private Duration idleTimeout = Duration.ofMinutes(2);
+	private boolean includeHeaders = true;
+	
+}
@@ -0,0 +1,35 @@
+package com.selimhorri.app.config.shedding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.load-shedding")
+@Data
+public class LoadSheddingProperties {
+	
+	private boolean enabled = true;
+	private int initialLimit = 100;
+	private int minLimit = 10;
+	private int maxLimit = 1000;
+	private double smoothing = 0.2;
+	private double latencyTolerance = 1.5;
+	private Duration sampleWindow = Duration.ofMillis(100);
+	private double defaultMaxUtilization = 0.8;
+	private List<Priority> priorities = new ArrayList<>();
+	
+	@Data
+	public static class Priority {
+		
+		private String name;
+		private double maxUtilization = 1.0;
+		private List<String> routes = new ArrayList<>();
+		private List<String> paths = new ArrayList<>();
+		
+	}
+	
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.constant;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public abstract class AppConstant {
+	
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class IdentityHeaders {
+		
+		public static final String PREFIX = "X-Auth-";
+		public static final String SUBJECT = "X-Auth-Subject";
+		public static final String TOKEN_ID = "X-Auth-Token-Id";
+		public static final String ISSUED_AT = "X-Auth-Issued-At";
+		public static final String EXPIRES_AT = "X-Auth-Expires-At";
+		public static final String ROLES = "X-Auth-Roles";
+		public static final String ACCOUNT_STATUS = "X-Auth-Account-Status";
+		public static final String SIGNATURE = "X-Auth-Signature";
+		
+	}
+	
+	
+	
+}
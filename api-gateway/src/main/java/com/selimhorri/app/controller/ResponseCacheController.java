@@ -0,0 +1,47 @@
+package com.selimhorri.app.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+import com.selimhorri.app.filter.cache.ResponseCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/gateway/response-cache")
+@Slf4j
+@RequiredArgsConstructor
+public class ResponseCacheController {
+	
+	private final ResponseCache responseCache;
+	private final ResponseCacheProperties responseCacheProperties;
+	
+	@DeleteMapping("/{group}")
+	public Mono<ResponseEntity<Boolean>> evictGroup(
+			@RequestHeader(name = "X-Cache-Eviction-Secret", required = false) final String evictionSecret, 
+			@PathVariable("group") final String group) {
+		
+		final String expected = this.responseCacheProperties.getEvictionSecret();
+		if (expected == null || expected.isBlank() || evictionSecret == null 
+				|| !MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), evictionSecret.getBytes(StandardCharsets.UTF_8)))
+			return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(false));
+		
+		log.info("** Evicting response cache group {}*\n", group);
+		this.responseCache.evictGroup(group);
+		return Mono.just(ResponseEntity.ok(true));
+	}
+	
+	
+	
+}
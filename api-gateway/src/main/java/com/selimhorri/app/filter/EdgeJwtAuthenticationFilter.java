@@ -0,0 +1,202 @@
+package com.selimhorri.app.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.config.auth.EdgeAuthProperties;
+import com.selimhorri.app.constant.AppConstant.IdentityHeaders;
+import com.selimhorri.app.helper.IdentitySignatureHelper;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Verifies bearer tokens at the edge so that requests with missing, forged or expired 
+ * tokens never reach proxy-client. Verified identities are forwarded as X-Auth-* headers 
+ * signed with the shared identity secret; anything the client sent under that prefix is dropped.
+ */
+@Component
+@Slf4j
+public class EdgeJwtAuthenticationFilter implements GlobalFilter, Ordered {
+	
+	public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+	
+	private static final String BEARER_PREFIX = "Bearer ";
+	private static final String ROLES_CLAIM = "roles";
+	private static final String ENABLED_CLAIM = "enabled";
+	private static final String ACCOUNT_NON_EXPIRED_CLAIM = "accountNonExpired";
+	private static final String ACCOUNT_NON_LOCKED_CLAIM = "accountNonLocked";
+	private static final String CREDENTIALS_NON_EXPIRED_CLAIM = "credentialsNonExpired";
+	
+	private final EdgeAuthProperties edgeAuthProperties;
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+	private final Key signingKey;
+	private final byte[] identityKey;
+	
+	public EdgeJwtAuthenticationFilter(final EdgeAuthProperties edgeAuthProperties) {
+		this.edgeAuthProperties = edgeAuthProperties;
+		this.signingKey = new SecretKeySpec(TextCodec.BASE64.decode(edgeAuthProperties.getJwtSecret()), 
+				SignatureAlgorithm.HS256.getJcaName());
+		this.identityKey = (StringUtils.hasLength(edgeAuthProperties.getIdentitySecret())) ? 
+				edgeAuthProperties.getIdentitySecret().getBytes(StandardCharsets.UTF_8) 
+				: null;
+	}
+	
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+	
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		
+		final ServerHttpRequest request = exchange.getRequest();
+		final String path = request.getPath().value();
+		
+		if (!this.edgeAuthProperties.isEnabled() || !this.matches(this.edgeAuthProperties.getPaths(), path))
+			return chain.filter(this.withoutIdentity(exchange));
+		
+		final String authorizationHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+		final boolean isPublic = HttpMethod.OPTIONS.equals(request.getMethod()) 
+				|| this.matches(this.edgeAuthProperties.getPublicPaths(), path) 
+				|| !this.matches(this.edgeAuthProperties.getProtectedPaths(), path);
+		
+		if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX))
+			return (isPublic) ? chain.filter(this.withoutIdentity(exchange)) : this.reject(exchange, null);
+		
+		final Claims claims;
+		try {
+			claims = Jwts.parser()
+					.setSigningKey(this.signingKey)
+					.parseClaimsJws(authorizationHeader.substring(BEARER_PREFIX.length()))
+					.getBody();
+		}
+		catch (JwtException | IllegalArgumentException e) {
+			log.debug("** Rejected bearer token on {}: {}*\n", path, e.getMessage());
+			// public endpoints (login, refresh) must stay reachable with a stale token
+			return (isPublic) ? chain.filter(this.withoutIdentity(exchange)) : this.reject(exchange, "invalid_token");
+		}
+		
+		if (claims.getSubject() == null)
+			return (isPublic) ? chain.filter(this.withoutIdentity(exchange)) : this.reject(exchange, "invalid_token");
+		
+		return chain.filter(this.withIdentity(exchange, claims));
+	}
+	
+	private boolean matches(final Collection<String> patterns, final String path) {
+		for (final String pattern : patterns)
+			if (this.pathMatcher.match(pattern, path))
+				return true;
+		return false;
+	}
+	
+	private ServerWebExchange withoutIdentity(final ServerWebExchange exchange) {
+		if (exchange.getRequest().getHeaders().keySet().stream().noneMatch(EdgeJwtAuthenticationFilter::isIdentityHeader))
+			return exchange;
+		return exchange.mutate()
+				.request(exchange.getRequest().mutate()
+						.headers(headers -> headers.keySet().removeIf(EdgeJwtAuthenticationFilter::isIdentityHeader))
+						.build())
+				.build();
+	}
+	
+	private ServerWebExchange withIdentity(final ServerWebExchange exchange, final Claims claims) {
+		
+		if (this.identityKey == null)
+			return this.withoutIdentity(exchange);
+		
+		final String subject = claims.getSubject();
+		final String tokenId = claims.getId();
+		final String issuedAt = epochSeconds(claims.getIssuedAt());
+		final String expiresAt = epochSeconds(claims.getExpiration());
+		final String roles = roles(claims);
+		final String accountStatus = (roles != null) ? accountStatus(claims) : null;
+		final String signature = IdentitySignatureHelper.sign(this.identityKey, 
+				IdentitySignatureHelper.canonicalize(subject, tokenId, issuedAt, expiresAt, roles, accountStatus));
+		
+		return exchange.mutate()
+				.request(exchange.getRequest().mutate()
+						.headers(headers -> {
+							headers.keySet().removeIf(EdgeJwtAuthenticationFilter::isIdentityHeader);
+							headers.set(IdentityHeaders.SUBJECT, subject);
+							setIfPresent(headers, IdentityHeaders.TOKEN_ID, tokenId);
+							setIfPresent(headers, IdentityHeaders.ISSUED_AT, issuedAt);
+							setIfPresent(headers, IdentityHeaders.EXPIRES_AT, expiresAt);
+							setIfPresent(headers, IdentityHeaders.ROLES, roles);
+							setIfPresent(headers, IdentityHeaders.ACCOUNT_STATUS, accountStatus);
+							headers.set(IdentityHeaders.SIGNATURE, signature);
+						})
+						.build())
+				.build();
+	}
+	
+	private Mono<Void> reject(final ServerWebExchange exchange, final String error) {
+		final ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.UNAUTHORIZED);
+		response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, 
+				(error != null) ? BEARER_PREFIX + "error=\"" + error + "\"" : BEARER_PREFIX.trim());
+		return response.setComplete();
+	}
+	
+	private static boolean isIdentityHeader(final String name) {
+		return name.regionMatches(true, 0, IdentityHeaders.PREFIX, 0, IdentityHeaders.PREFIX.length());
+	}
+	
+	private static void setIfPresent(final HttpHeaders headers, final String name, final String value) {
+		if (value != null)
+			headers.set(name, value);
+	}
+	
+	private static String epochSeconds(final Date date) {
+		return (date != null) ? Long.toString(date.getTime() / 1000) : null;
+	}
+	
+	private static String roles(final Claims claims) {
+		final List<?> roles = claims.get(ROLES_CLAIM, List.class);
+		return (roles != null) ? roles.stream()
+				.map(String::valueOf)
+				.collect(Collectors.joining(","))
+				: null;
+	}
+	
+	private static String accountStatus(final Claims claims) {
+		return new StringBuilder(4)
+				.append(flag(claims, ENABLED_CLAIM))
+				.append(flag(claims, ACCOUNT_NON_EXPIRED_CLAIM))
+				.append(flag(claims, ACCOUNT_NON_LOCKED_CLAIM))
+				.append(flag(claims, CREDENTIALS_NON_EXPIRED_CLAIM))
+				.toString();
+	}
+	
+	private static char flag(final Claims claims, final String name) {
+		return Boolean.TRUE.equals(claims.get(name, Boolean.class)) ? '1' : '0';
+	}
+	
+	
+	
+}
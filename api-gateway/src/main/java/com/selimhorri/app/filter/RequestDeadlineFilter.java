@@ -0,0 +1,101 @@
+package com.selimhorri.app.filter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.config.deadline.RequestDeadlineProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Gives every request a deadline at the edge, {@code default-timeout} from arrival, or sooner when the client 
+ * asks for it with its own {@value #DEADLINE_HEADER}. The exchange is cancelled with 504 when it passes before 
+ * the response is committed, which also cancels the upstream call. Once the first bytes are on their way the 
+ * deadline no longer applies, so streamed bodies such as the order export run to completion.
+ *
+ * Upstream requests carry the budget left at the moment they are sent, in milliseconds. Each hop 
+ * turns it back into a local deadline, so clock skew between hosts does not matter.
+ */
+@Component
+public class RequestDeadlineFilter implements GlobalFilter, HttpHeadersFilter, Ordered {
+	
+	public static final String DEADLINE_HEADER = "X-Request-Deadline";
+	public static final String DEADLINE_ATTR = RequestDeadlineFilter.class.getName() + ".deadlineNanos";
+	public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+	
+	private final RequestDeadlineProperties requestDeadlineProperties;
+	private final MeterRegistry meterRegistry;
+	
+	public RequestDeadlineFilter(final RequestDeadlineProperties requestDeadlineProperties, final MeterRegistry meterRegistry) {
+		this.requestDeadlineProperties = requestDeadlineProperties;
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		
+		if (!this.requestDeadlineProperties.isEnabled())
+			return chain.filter(exchange);
+		
+		final long budgetMillis = this.budgetMillis(exchange.getRequest().getHeaders().getFirst(DEADLINE_HEADER));
+		if (budgetMillis <= 0)
+			return this.reject(exchange, "expired");
+		
+		exchange.getAttributes().put(DEADLINE_ATTR, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+		return chain.filter(exchange)
+				.timeout(Mono.delay(Duration.ofMillis(budgetMillis))
+						.flatMap(tick -> exchange.getResponse().isCommitted() ? Mono.never() : Mono.just(tick)))
+				.onErrorResume(TimeoutException.class, e -> exchange.getResponse().isCommitted() ? 
+						Mono.error(e) 
+						: this.reject(exchange, "timeout"));
+	}
+	
+	@Override
+	public HttpHeaders filter(final HttpHeaders input, final ServerWebExchange exchange) {
+		final Long deadlineNanos = exchange.getAttribute(DEADLINE_ATTR);
+		final HttpHeaders filtered = new HttpHeaders();
+		filtered.putAll(input);
+		filtered.remove(DEADLINE_HEADER);
+		if (deadlineNanos != null)
+			filtered.set(DEADLINE_HEADER, String.valueOf(
+					Math.max(0L, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()))));
+		return filtered;
+	}
+	
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+	
+	private long budgetMillis(final String requested) {
+		final long defaultMillis = this.requestDeadlineProperties.getDefaultTimeout().toMillis();
+		if (requested == null)
+			return defaultMillis;
+		try {
+			return Math.min(Long.parseLong(requested.trim()), this.requestDeadlineProperties.getMaxTimeout().toMillis());
+		}
+		catch (NumberFormatException e) {
+			return defaultMillis;
+		}
+	}
+	
+	private Mono<Void> reject(final ServerWebExchange exchange, final String reason) {
+		this.meterRegistry.counter("gateway.request.deadline.exceeded", "reason", reason).increment();
+		exchange.getResponse().setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
+		return exchange.getResponse().setComplete();
+	}
+	
+	
+	
+}
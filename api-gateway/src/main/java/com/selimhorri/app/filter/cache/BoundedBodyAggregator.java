@@ -0,0 +1,58 @@
+package com.selimhorri.app.filter.cache;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/**
+ * Collects a response body for reuse while it is written, holding at most {@code maximumBytes} of it.
+ * A body that completes within the limit is handed over as one array and written in one buffer.
+ * Once the running count passes the limit, the chunks held so far are written as they came and
+ * the rest of the body streams through untouched, so a chunked response without
+ * {@code Content-Length} is never buffered whole.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BoundedBodyAggregator {
+	
+	public static Flux<DataBuffer> aggregate(final Publisher<? extends DataBuffer> body, final DataBufferFactory bufferFactory,
+			final long maximumBytes, final Consumer<byte[]> onComplete, final Runnable onOverflow) {
+		
+		final AtomicLong bytes = new AtomicLong();
+		final AtomicBoolean overflowed = new AtomicBoolean();
+		
+		return Flux.<DataBuffer>from(body)
+				// every chunk past the limit closes its own batch, the last batch only closes on completion
+				.bufferUntil(buffer -> bytes.addAndGet(buffer.readableByteCount()) > maximumBytes)
+				.flatMapIterable(chunks -> {
+					if (bytes.get() > maximumBytes) {
+						if (overflowed.compareAndSet(false, true))
+							onOverflow.run();
+						return chunks;
+					}
+					final DataBuffer joined = bufferFactory.join(chunks);
+					final byte[] aggregated = new byte[joined.readableByteCount()];
+					joined.read(aggregated);
+					DataBufferUtils.release(joined);
+					onComplete.accept(aggregated);
+					return List.of(bufferFactory.wrap(aggregated));
+				})
+				.switchIfEmpty(Flux.defer(() -> {
+					onComplete.accept(new byte[0]);
+					return Flux.empty();
+				}))
+				.doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+	}
+	
+	
+	
+}
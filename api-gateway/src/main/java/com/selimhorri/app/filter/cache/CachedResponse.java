@@ -0,0 +1,69 @@
+package com.selimhorri.app.filter.cache;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import reactor.core.publisher.Mono;
+
+@Getter
+@AllArgsConstructor
+public class CachedResponse {
+	
+	private static final int OVERHEAD_BYTES = 512;
+	private static final Set<String> TRANSIENT_HEADERS = Set.of(
+			"connection", "keep-alive", "transfer-encoding", "date", "set-cookie", 
+			"age", "x-cache", "x-coalesced", "x-ratelimit-remaining");
+	
+	private final HttpStatus status;
+	private final HttpHeaders headers;
+	private final byte[] body;
+	private final long ttlNanos;
+	private final long createdAtMillis;
+	
+	/**
+	 * Copies the response headers that can be replayed to another client, 
+	 * leaving out hop-by-hop, per-request and CORS headers.
+	 */
+	public static HttpHeaders replayableHeaders(final HttpHeaders headers) {
+		final HttpHeaders replayable = new HttpHeaders();
+		headers.forEach((name, values) -> {
+			final String lowerCase = name.toLowerCase(Locale.ROOT);
+			if (!TRANSIENT_HEADERS.contains(lowerCase) && !lowerCase.startsWith("access-control-"))
+				replayable.put(name, List.copyOf(values));
+		});
+		return HttpHeaders.readOnlyHttpHeaders(replayable);
+	}
+	
+	public Mono<Void> writeTo(final ServerWebExchange exchange) {
+		final ServerHttpResponse response = exchange.getResponse();
+		final HttpHeaders responseHeaders = response.getHeaders();
+		response.setStatusCode(this.status);
+		this.headers.forEach((name, values) -> {
+			if (!responseHeaders.containsKey(name))
+				responseHeaders.put(name, values);
+		});
+		responseHeaders.setContentLength(this.body.length);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(this.body)));
+	}
+	
+	int weight() {
+		return this.body.length + OVERHEAD_BYTES;
+	}
+	
+	long ageSeconds() {
+		return Math.max(0L, (System.currentTimeMillis() - this.createdAtMillis) / 1000);
+	}
+	
+}
+
+
+
+
@@ -0,0 +1,199 @@
+package com.selimhorri.app.filter.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import lombok.Data;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves repeated GETs of a route from {@link ResponseCache}. Only complete 200 responses without 
+ * {@code no-store}, {@code private}, {@code no-cache} or {@code Set-Cookie} are kept, for the route ttl 
+ * or the upstream {@code max-age} when that is shorter. A successful write through the route evicts 
+ * its whole group, product-service also evicts the catalog group on every commit.
+ */
+@Component
+public class LocalResponseCacheGatewayFilterFactory 
+		extends AbstractGatewayFilterFactory<LocalResponseCacheGatewayFilterFactory.Config> {
+	
+	public static final String CACHE_STATUS_HEADER = "X-Cache";
+	public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+	
+	private final ResponseCache responseCache;
+	private final ResponseCacheProperties responseCacheProperties;
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+	
+	public LocalResponseCacheGatewayFilterFactory(final ResponseCache responseCache, 
+			final ResponseCacheProperties responseCacheProperties) {
+		super(Config.class);
+		this.responseCache = responseCache;
+		this.responseCacheProperties = responseCacheProperties;
+	}
+	
+	@Override
+	public GatewayFilter apply(final Config config) {
+		return new OrderedGatewayFilter((exchange, chain) -> {
+			
+			final ServerHttpRequest request = exchange.getRequest();
+			if (!this.responseCacheProperties.isEnabled() || !this.matches(config.getPaths(), request.getPath().value()))
+				return chain.filter(exchange);
+			
+			final String group = (config.getGroup() != null) ? config.getGroup() : config.getRouteId();
+			final HttpMethod method = request.getMethod();
+			
+			if (HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method))
+				return chain.filter(exchange);
+			
+			if (!HttpMethod.GET.equals(method))
+				return chain.filter(exchange)
+						.then(Mono.fromRunnable(() -> {
+							final HttpStatus status = exchange.getResponse().getStatusCode();
+							if (status != null && status.is2xxSuccessful())
+								this.responseCache.evictGroup(group);
+						}));
+			
+			final Set<String> requestDirectives = directives(request.getHeaders());
+			final boolean noStore = requestDirectives.contains("no-store");
+			final String uri = (request.getURI().getRawQuery() != null) ? 
+					request.getURI().getRawPath() + "?" + request.getURI().getRawQuery() 
+					: request.getURI().getRawPath();
+			
+			if (noStore || requestDirectives.contains("no-cache")) {
+				this.responseCache.recordBypass(group);
+				if (noStore)
+					return chain.filter(exchange);
+			}
+			else {
+				final CachedResponse cached = this.responseCache.get(group, uri, request.getHeaders());
+				if (cached != null) {
+					this.responseCache.recordHit(group, cached);
+					exchange.getResponse().getHeaders().set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds()));
+					exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+					return cached.writeTo(exchange);
+				}
+				this.responseCache.recordMiss(group);
+			}
+			
+			final Duration ttl = (config.getTtl() != null) ? config.getTtl() : this.responseCacheProperties.getDefaultTtl();
+			exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+			return chain.filter(exchange.mutate()
+					.response(this.caching(exchange.getResponse(), group, uri, request.getHeaders(), ttl))
+					.build());
+			
+		}, ORDER);
+	}
+	
+	private boolean matches(final List<String> patterns, final String path) {
+		if (patterns.isEmpty())
+			return true;
+		for (final String pattern : patterns)
+			if (this.pathMatcher.match(pattern, path))
+				return true;
+		return false;
+	}
+	
+	private ServerHttpResponse caching(final ServerHttpResponse response, final String group, final String uri, 
+			final HttpHeaders requestHeaders, final Duration routeTtl) {
+		
+		final long maximumEntryBytes = this.responseCacheProperties.getMaximumEntrySize().toBytes();
+		
+		return new ServerHttpResponseDecorator(response) {
+			
+			@Override
+			public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+				
+				final HttpHeaders headers = this.getHeaders();
+				final long ttlNanos = cacheableFor(this.getStatusCode(), headers, routeTtl);
+				if (ttlNanos <= 0 || headers.getContentLength() > maximumEntryBytes)
+					return super.writeWith(body);
+				
+				return super.writeWith(BoundedBodyAggregator.aggregate(body, this.bufferFactory(), maximumEntryBytes, 
+						bytes -> responseCache.put(group, uri, requestHeaders, varyHeaders(headers), 
+								new CachedResponse(this.getStatusCode(), CachedResponse.replayableHeaders(headers), bytes, 
+										ttlNanos, System.currentTimeMillis())), 
+						() -> { }));
+			}
+			
+		};
+	}
+	
+	private static long cacheableFor(final HttpStatus status, final HttpHeaders headers, final Duration routeTtl) {
+		
+		if (status != HttpStatus.OK || headers.containsKey(HttpHeaders.SET_COOKIE))
+			return 0L;
+		if (headers.getVary().contains("*"))
+			return 0L;
+		
+		final Set<String> directives = directives(headers);
+		if (directives.contains("no-store") || directives.contains("private") || directives.contains("no-cache"))
+			return 0L;
+		
+		long ttlSeconds = routeTtl.getSeconds();
+		for (final String directive : directives) {
+			if (directive.startsWith("s-maxage=") || directive.startsWith("max-age=")) {
+				try {
+					ttlSeconds = Math.min(ttlSeconds, Long.parseLong(directive.substring(directive.indexOf('=') + 1)));
+				}
+				catch (NumberFormatException e) {
+					return 0L;
+				}
+			}
+		}
+		return Duration.ofSeconds(ttlSeconds).toNanos();
+	}
+	
+	private static Set<String> directives(final HttpHeaders headers) {
+		final String cacheControl = headers.getCacheControl();
+		if (cacheControl == null)
+			return Set.of();
+		return Arrays.stream(cacheControl.split(","))
+				.map(directive -> directive.trim().toLowerCase(Locale.ROOT))
+				.collect(Collectors.toUnmodifiableSet());
+	}
+	
+	private static List<String> varyHeaders(final HttpHeaders headers) {
+		return headers.getVary().stream()
+				.map(name -> name.trim().toLowerCase(Locale.ROOT))
+				.distinct()
+				.sorted()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Data
+	public static class Config implements HasRouteId {
+		
+		private String routeId;
+		private String group;
+		private Duration ttl;
+		private List<String> paths = new ArrayList<>();
+		
+	}
+	
+	
+	
+}
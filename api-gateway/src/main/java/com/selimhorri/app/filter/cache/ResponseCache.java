@@ -0,0 +1,123 @@
+package com.selimhorri.app.filter.cache;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded in-memory store behind {@link LocalResponseCacheGatewayFilterFactory}. Entries are weighed 
+ * by body size and expire individually. Responses carrying a {@code Vary} header are stored once per 
+ * combination of the listed request header values, the header names are remembered per URI.
+ */
+@Component
+public class ResponseCache {
+	
+	private static final char SEPARATOR = '\u0000';
+	
+	private final Cache<String, CachedResponse> entries;
+	private final Cache<String, List<String>> varyIndex;
+	private final MeterRegistry meterRegistry;
+	
+	public ResponseCache(final ResponseCacheProperties responseCacheProperties, final MeterRegistry meterRegistry) {
+		this.entries = Caffeine.newBuilder()
+				.maximumWeight(responseCacheProperties.getMaximumSize().toBytes())
+				.weigher((final String key, final CachedResponse response) -> response.weight())
+				.expireAfter(new Expiry<String, CachedResponse>() {
+					
+					@Override
+					public long expireAfterCreate(final String key, final CachedResponse response, final long currentTime) {
+						return response.getTtlNanos();
+					}
+					
+					@Override
+					public long expireAfterUpdate(final String key, final CachedResponse response, final long currentTime, final long currentDuration) {
+						return response.getTtlNanos();
+					}
+					
+					@Override
+					public long expireAfterRead(final String key, final CachedResponse response, final long currentTime, final long currentDuration) {
+						return currentDuration;
+					}
+					
+				})
+				.build();
+		this.varyIndex = Caffeine.newBuilder()
+				.maximumSize(100_000)
+				.expireAfterAccess(responseCacheProperties.getDefaultTtl().multipliedBy(10))
+				.build();
+		this.meterRegistry = meterRegistry;
+		Gauge.builder("gateway.response.cache.size", this.entries, cache -> cache.policy().eviction()
+						.map(eviction -> eviction.weightedSize().orElse(0L))
+						.orElse(0L))
+				.baseUnit("bytes")
+				.register(meterRegistry);
+		Gauge.builder("gateway.response.cache.entries", this.entries, Cache::estimatedSize)
+				.register(meterRegistry);
+	}
+	
+	public CachedResponse get(final String group, final String uri, final HttpHeaders requestHeaders) {
+		final String baseKey = baseKey(group, uri);
+		final List<String> varyHeaders = this.varyIndex.getIfPresent(baseKey);
+		return this.entries.getIfPresent(variantKey(baseKey, varyHeaders, requestHeaders));
+	}
+	
+	public void put(final String group, final String uri, final HttpHeaders requestHeaders, 
+			final List<String> varyHeaders, final CachedResponse response) {
+		final String baseKey = baseKey(group, uri);
+		if (varyHeaders.isEmpty())
+			this.varyIndex.invalidate(baseKey);
+		else
+			this.varyIndex.put(baseKey, varyHeaders);
+		this.entries.put(variantKey(baseKey, varyHeaders, requestHeaders), response);
+	}
+	
+	public void evictGroup(final String group) {
+		final String prefix = group + SEPARATOR;
+		this.entries.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+		this.varyIndex.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+		this.meterRegistry.counter("gateway.response.cache.invalidations", "group", group).increment();
+	}
+	
+	public void recordHit(final String group, final CachedResponse response) {
+		this.meterRegistry.counter("gateway.response.cache.requests", "group", group, "result", "hit").increment();
+		this.meterRegistry.counter("gateway.response.cache.served.bytes", "group", group).increment(response.getBody().length);
+	}
+	
+	public void recordMiss(final String group) {
+		this.meterRegistry.counter("gateway.response.cache.requests", "group", group, "result", "miss").increment();
+	}
+	
+	public void recordBypass(final String group) {
+		this.meterRegistry.counter("gateway.response.cache.requests", "group", group, "result", "bypass").increment();
+	}
+	
+	private static String baseKey(final String group, final String uri) {
+		return group + SEPARATOR + uri;
+	}
+	
+	private static String variantKey(final String baseKey, final List<String> varyHeaders, final HttpHeaders requestHeaders) {
+		if (varyHeaders == null || varyHeaders.isEmpty())
+			return baseKey;
+		final StringBuilder key = new StringBuilder(baseKey);
+		for (final String name : varyHeaders) {
+			final List<String> values = requestHeaders.get(name);
+			key.append(SEPARATOR).append(name.toLowerCase(Locale.ROOT)).append('=');
+			if (values != null)
+				key.append(String.join(",", values));
+		}
+		return key.toString();
+	}
+	
+	
+	
+}
@@ -0,0 +1,225 @@
+package com.selimhorri.app.filter.coalescing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.config.coalescing.RequestCoalescingProperties;
+import com.selimhorri.app.filter.cache.BoundedBodyAggregator;
+import com.selimhorri.app.filter.cache.CachedResponse;
+import com.selimhorri.app.filter.cache.LocalResponseCacheGatewayFilterFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Collapses identical GETs of a route that arrive while one of them is still upstream. The first request 
+ * for a key goes through, the others wait up to {@code max-wait} for its response and get a copy of it 
+ * with {@code X-Coalesced: true}. If the leader fails, times out or answers with anything but a small 200, 
+ * the waiting requests are sent upstream themselves.
+ *
+ * The key is the method, the raw URI and the route {@code key-headers}, or whatever the optional 
+ * {@code key-resolver} bean returns. Requests carrying credentials are never coalesced unless the route 
+ * allows it, since the shared response would be the leader's.
+ */
+@Component
+public class RequestCoalescingGatewayFilterFactory 
+		extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+	
+	public static final String COALESCED_HEADER = "X-Coalesced";
+	public static final int ORDER = LocalResponseCacheGatewayFilterFactory.ORDER + 1;
+	
+	private static final char SEPARATOR = '\u0000';
+	
+	private final RequestCoalescingProperties requestCoalescingProperties;
+	private final MeterRegistry meterRegistry;
+	private final ConcurrentMap<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+	
+	public RequestCoalescingGatewayFilterFactory(final RequestCoalescingProperties requestCoalescingProperties, 
+			final MeterRegistry meterRegistry) {
+		super(Config.class);
+		this.requestCoalescingProperties = requestCoalescingProperties;
+		this.meterRegistry = meterRegistry;
+		Gauge.builder("gateway.coalescing.inflight", this.inFlight, ConcurrentMap::size)
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public GatewayFilter apply(final Config config) {
+		return new OrderedGatewayFilter((exchange, chain) -> {
+			
+			final ServerHttpRequest request = exchange.getRequest();
+			if (!this.requestCoalescingProperties.isEnabled() || !this.isEligible(config, request))
+				return chain.filter(exchange);
+			
+			return this.resolveKey(config, exchange)
+					.map(Optional::of)
+					.defaultIfEmpty(Optional.empty())
+					.flatMap(key -> {
+						
+						if (key.isEmpty())
+							return chain.filter(exchange);
+						
+						final Sinks.One<CachedResponse> sink = Sinks.one();
+						final Sinks.One<CachedResponse> leader = this.inFlight.putIfAbsent(key.get(), sink);
+						
+						if (leader == null) {
+							this.record(config, "leader");
+							return chain.filter(exchange.mutate()
+											.response(this.publishing(exchange.getResponse(), key.get(), sink))
+											.build())
+									.doFinally(signal -> {
+										this.inFlight.remove(key.get(), sink);
+										sink.tryEmitEmpty();
+									});
+						}
+						
+						final Duration maxWait = (config.getMaxWait() != null) ? 
+								config.getMaxWait() : this.requestCoalescingProperties.getMaxWait();
+						return leader.asMono()
+								.timeout(maxWait, Mono.empty())
+								.map(Optional::of)
+								.defaultIfEmpty(Optional.empty())
+								.flatMap(shared -> {
+									if (shared.isEmpty()) {
+										this.record(config, "fallback");
+										return chain.filter(exchange);
+									}
+									this.record(config, "follower");
+									exchange.getResponse().getHeaders().set(COALESCED_HEADER, "true");
+									return shared.get().writeTo(exchange);
+								});
+					});
+			
+		}, ORDER);
+	}
+	
+	private boolean isEligible(final Config config, final ServerHttpRequest request) {
+		
+		if (!HttpMethod.GET.equals(request.getMethod()))
+			return false;
+		
+		final HttpHeaders headers = request.getHeaders();
+		if (!config.isIncludeCredentialed() 
+				&& (headers.containsKey(HttpHeaders.AUTHORIZATION) || headers.containsKey(HttpHeaders.COOKIE)))
+			return false;
+		
+		if (config.getPaths().isEmpty())
+			return true;
+		final String path = request.getPath().value();
+		for (final String pattern : config.getPaths())
+			if (this.pathMatcher.match(pattern, path))
+				return true;
+		return false;
+	}
+	
+	private Mono<String> resolveKey(final Config config, final ServerWebExchange exchange) {
+		
+		final String routeId = (config.getRouteId() != null) ? config.getRouteId() : "";
+		if (config.getKeyResolver() != null)
+			return config.getKeyResolver().resolve(exchange)
+					.map(key -> routeId + SEPARATOR + key);
+		
+		final ServerHttpRequest request = exchange.getRequest();
+		final StringBuilder key = new StringBuilder(routeId)
+				.append(SEPARATOR).append(request.getMethodValue())
+				.append(SEPARATOR).append(request.getURI().getRawPath());
+		if (request.getURI().getRawQuery() != null)
+			key.append('?').append(request.getURI().getRawQuery());
+		
+		final List<String> keyHeaders = (config.getKeyHeaders() != null) ? 
+				config.getKeyHeaders() : this.requestCoalescingProperties.getKeyHeaders();
+		for (final String name : keyHeaders) {
+			final List<String> values = request.getHeaders().get(name);
+			key.append(SEPARATOR).append(name.toLowerCase(Locale.ROOT)).append('=');
+			if (values != null)
+				key.append(String.join(",", values));
+		}
+		return Mono.just(key.toString());
+	}
+	
+	private ServerHttpResponse publishing(final ServerHttpResponse response, final String key, 
+			final Sinks.One<CachedResponse> sink) {
+		
+		final long maximumResponseBytes = this.requestCoalescingProperties.getMaximumResponseSize().toBytes();
+		
+		return new ServerHttpResponseDecorator(response) {
+			
+			@Override
+			public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+				
+				final HttpHeaders headers = this.getHeaders();
+				if (this.getStatusCode() != HttpStatus.OK || headers.containsKey(HttpHeaders.SET_COOKIE) 
+						|| headers.getContentLength() > maximumResponseBytes) {
+					this.release();
+					return super.writeWith(body);
+				}
+				
+				// followers are released as soon as the body outgrows the limit, not after it has streamed
+				return super.writeWith(BoundedBodyAggregator.aggregate(body, this.bufferFactory(), maximumResponseBytes, 
+						bytes -> {
+							inFlight.remove(key, sink);
+							sink.tryEmitValue(new CachedResponse(this.getStatusCode(), 
+									CachedResponse.replayableHeaders(headers), bytes, 0L, System.currentTimeMillis()));
+						}, 
+						this::release));
+			}
+			
+			private void release() {
+				inFlight.remove(key, sink);
+				sink.tryEmitEmpty();
+			}
+			
+		};
+	}
+	
+	private void record(final Config config, final String role) {
+		this.meterRegistry.counter("gateway.coalescing.requests", 
+				"route", String.valueOf(config.getRouteId()), "role", role).increment();
+	}
+	
+	@Data
+	public static class Config implements HasRouteId {
+		
+		private String routeId;
+		private Duration maxWait;
+		private List<String> keyHeaders;
+		private KeyResolver keyResolver;
+		private boolean includeCredentialed;
+		private List<String> paths = new ArrayList<>();
+		
+	}
+	
+	
+	
+}
+
+
+
+
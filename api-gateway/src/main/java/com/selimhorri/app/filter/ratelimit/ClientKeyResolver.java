@@ -0,0 +1,37 @@
+package com.selimhorri.app.filter.ratelimit;
+
+import java.net.InetSocketAddress;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.constant.AppConstant.IdentityHeaders;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Keys on the verified subject when the edge auth filter forwarded one, on the client address otherwise. 
+ * Subject headers can be trusted here because the edge filter runs first and drops client supplied ones.
+ */
+@Component
+public class ClientKeyResolver implements KeyResolver {
+	
+	private static final String ANONYMOUS = "anonymous";
+	
+	@Override
+	public Mono<String> resolve(final ServerWebExchange exchange) {
+		
+		final String subject = exchange.getRequest().getHeaders().getFirst(IdentityHeaders.SUBJECT);
+		if (subject != null && exchange.getRequest().getHeaders().containsKey(IdentityHeaders.SIGNATURE))
+			return Mono.just("sub:" + subject);
+		
+		final InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+		if (remoteAddress == null || remoteAddress.getAddress() == null)
+			return Mono.just(ANONYMOUS);
+		return Mono.just("ip:" + remoteAddress.getAddress().getHostAddress());
+	}
+	
+	
+	
+}
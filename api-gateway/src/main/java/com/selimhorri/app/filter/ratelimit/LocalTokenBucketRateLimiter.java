@@ -0,0 +1,172 @@
+package com.selimhorri.app.filter.ratelimit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import javax.validation.constraints.Min;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.config.ratelimit.RateLimitProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory replacement for the Redis rate limiter, used through the stock {@code RequestRateLimiter} filter.
+ * Each route and client key owns a bucket stored as a single theoretical arrival time (GCRA),
+ * which behaves exactly like a token bucket but needs only one CAS per request.
+ * Idle buckets are evicted, so a full bucket costs nothing to keep.
+ *
+ * Per route settings go under the filter args with the {@code local-rate-limiter} prefix,
+ * routes without them use the {@code app.rate-limit} defaults.
+ */
+@Component
+public class LocalTokenBucketRateLimiter extends AbstractRateLimiter<LocalTokenBucketRateLimiter.Config> {
+	
+	public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+	public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+	public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+	public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+	public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+	
+	private final RateLimitProperties rateLimitProperties;
+	private final Config defaultConfig;
+	private final Cache<String, AtomicLong> buckets;
+	private final MeterRegistry meterRegistry;
+	private final ConcurrentMap<String, Counter> allowedCounters = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Counter> rejectedCounters = new ConcurrentHashMap<>();
+	private final LongSupplier nanoClock;
+	
+	@Autowired
+	public LocalTokenBucketRateLimiter(final RateLimitProperties rateLimitProperties,
+			final ConfigurationService configurationService, final MeterRegistry meterRegistry) {
+		this(rateLimitProperties, configurationService, meterRegistry, System::nanoTime);
+	}
+	
+	LocalTokenBucketRateLimiter(final RateLimitProperties rateLimitProperties,
+			final ConfigurationService configurationService, final MeterRegistry meterRegistry, final LongSupplier nanoClock) {
+		super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+		this.nanoClock = nanoClock;
+		this.rateLimitProperties = rateLimitProperties;
+		this.defaultConfig = new Config()
+				.setReplenishRate(rateLimitProperties.getReplenishRate())
+				.setBurstCapacity(rateLimitProperties.getBurstCapacity())
+				.setRequestedTokens(rateLimitProperties.getRequestedTokens());
+		this.buckets = Caffeine.newBuilder()
+				.maximumSize(rateLimitProperties.getMaximumBuckets())
+				.expireAfterAccess(rateLimitProperties.getIdleTimeout())
+				.build();
+		this.meterRegistry = meterRegistry;
+		Gauge.builder("gateway.ratelimit.buckets", this.buckets, Cache::estimatedSize)
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public Mono<Response> isAllowed(final String routeId, final String id) {
+		
+		final Config config = this.getConfig().getOrDefault(routeId, this.defaultConfig);
+		final long interval = Math.max(1L, TimeUnit.SECONDS.toNanos(1) / Math.max(1, config.getReplenishRate()));
+		final long tolerance = interval * config.getBurstCapacity();
+		final long increment = interval * config.getRequestedTokens();
+		final AtomicLong bucket = this.buckets.get(routeId + '|' + id, key -> new AtomicLong(Long.MIN_VALUE));
+		
+		while (true) {
+		
+			final long now = this.nanoClock.getAsLong();
+			final long theoreticalArrival = bucket.get();
+			final long base = Math.max(theoreticalArrival, now);
+			final long next = base + increment;
+		
+			if (next - now > tolerance) {
+				this.counter(this.rejectedCounters, routeId, "rejected").increment();
+				final Map<String, String> headers = this.headers(config, Math.max(0L, (tolerance - (base - now)) / interval));
+				headers.put(HttpHeaders.RETRY_AFTER,
+						String.valueOf(Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(next - now - tolerance + TimeUnit.SECONDS.toNanos(1) - 1))));
+				return Mono.just(new Response(false, headers));
+			}
+		
+			if (bucket.compareAndSet(theoreticalArrival, next)) {
+				this.counter(this.allowedCounters, routeId, "allowed").increment();
+				return Mono.just(new Response(true, this.headers(config, (tolerance - (next - now)) / interval)));
+			}
+		}
+	}
+	
+	private Counter counter(final ConcurrentMap<String, Counter> counters, final String routeId, final String outcome) {
+		final Counter counter = counters.get(routeId);
+		if (counter != null)
+			return counter;
+		return counters.computeIfAbsent(routeId, route -> this.meterRegistry.counter("gateway.ratelimit.requests",
+				"route", route, "outcome", outcome));
+	}
+	
+	private Map<String, String> headers(final Config config, final long remaining) {
+		final Map<String, String> headers = new HashMap<>();
+		if (this.rateLimitProperties.isIncludeHeaders()) {
+			headers.put(REMAINING_HEADER, String.valueOf(remaining));
+			headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+			headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+			headers.put(REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()));
+		}
+		return headers;
+	}
+	
+	@Validated
+	@Data
+	public static class Config {
+		
+		@Min(1)
+		private int replenishRate;
+		
+		@Min(1)
+		private int burstCapacity = 1;
+		
+		@Min(1)
+		private int requestedTokens = 1;
+		
+		public Config setReplenishRate(final int replenishRate) {
+			this.replenishRate = replenishRate;
+			return this;
+		}
+		
+		public Config setBurstCapacity(final int burstCapacity) {
+			this.burstCapacity = burstCapacity;
+			return this;
+		}
+		
+		public Config setRequestedTokens(final int requestedTokens) {
+			this.requestedTokens = requestedTokens;
+			return this;
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
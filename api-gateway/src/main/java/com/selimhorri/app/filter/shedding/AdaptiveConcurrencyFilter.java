@@ -0,0 +1,114 @@
+package com.selimhorri.app.filter.shedding;
+
+import java.util.List;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.config.shedding.LoadSheddingProperties;
+import com.selimhorri.app.config.shedding.LoadSheddingProperties.Priority;
+import com.selimhorri.app.filter.EdgeJwtAuthenticationFilter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sheds load once the gateway's adaptive concurrency limit is reached. All routes share the one limit 
+ * and each priority class may only fill its share of it, so when latency pushes the limit down the lowest 
+ * classes get fast 503s first, whatever route they are on, while the critical ones keep the remaining 
+ * capacity. Round trip times are sampled when the response commits, i.e. at the first byte from upstream. 
+ * Runs ahead of edge authentication so rejected requests cost no token verification.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyFilter implements GlobalFilter, Ordered {
+	
+	public static final int ORDER = EdgeJwtAuthenticationFilter.ORDER - 50;
+	
+	private static final String DEFAULT_PRIORITY = "default";
+	
+	private final LoadSheddingProperties loadSheddingProperties;
+	private final MeterRegistry meterRegistry;
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+	private final Priority defaultPriority;
+	private final GradientConcurrencyLimit limit;
+	
+	public AdaptiveConcurrencyFilter(final LoadSheddingProperties loadSheddingProperties, final MeterRegistry meterRegistry) {
+		this.loadSheddingProperties = loadSheddingProperties;
+		this.meterRegistry = meterRegistry;
+		this.defaultPriority = new Priority();
+		this.defaultPriority.setName(DEFAULT_PRIORITY);
+		this.defaultPriority.setMaxUtilization(loadSheddingProperties.getDefaultMaxUtilization());
+		this.limit = new GradientConcurrencyLimit(loadSheddingProperties);
+		Gauge.builder("gateway.concurrency.limit", this.limit, GradientConcurrencyLimit::getLimit)
+				.register(meterRegistry);
+		Gauge.builder("gateway.concurrency.inflight", this.limit, GradientConcurrencyLimit::getInflight)
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+	
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		
+		final Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		if (!this.loadSheddingProperties.isEnabled() || route == null)
+			return chain.filter(exchange);
+		
+		final Priority priority = this.resolvePriority(route.getId(), exchange.getRequest().getPath().value());
+		if (!this.limit.tryAcquire(priority.getMaxUtilization())) {
+			this.meterRegistry.counter("gateway.concurrency.shed", "route", route.getId(), "priority", priority.getName())
+					.increment();
+			log.debug("** Shed {} request on route {}, limit {}*\n", priority.getName(), route.getId(), this.limit.getLimit());
+			return this.reject(exchange);
+		}
+		
+		final long start = System.nanoTime();
+		exchange.getResponse().beforeCommit(() -> {
+			this.limit.sample(System.nanoTime() - start);
+			return Mono.empty();
+		});
+		return chain.filter(exchange)
+				.doFinally(signal -> this.limit.release());
+	}
+	
+	private Priority resolvePriority(final String routeId, final String path) {
+		for (final Priority priority : this.loadSheddingProperties.getPriorities()) {
+			if (priority.getRoutes().contains(routeId) || this.matches(priority.getPaths(), path))
+				return priority;
+		}
+		return this.defaultPriority;
+	}
+	
+	private boolean matches(final List<String> patterns, final String path) {
+		for (final String pattern : patterns)
+			if (this.pathMatcher.match(pattern, path))
+				return true;
+		return false;
+	}
+	
+	private Mono<Void> reject(final ServerWebExchange exchange) {
+		final ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+		response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+		return response.setComplete();
+	}
+	
+	
+	
+}
@@ -0,0 +1,122 @@
+package com.selimhorri.app.filter.shedding;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.selimhorri.app.config.shedding.LoadSheddingProperties;
+
+/**
+ * Concurrency limit of the gateway, adjusted from the ratio between the long term and the recent 
+ * round trip time. While recent latency stays within the tolerance of the long term baseline 
+ * the limit grows by about sqrt(limit), once it inflates the limit shrinks proportionally.
+ * 
+ * Samples are aggregated in adders and folded into the limit once per sample window by the 
+ * single thread that wins the window CAS, so neither admission nor completion takes a lock.
+ */
+class GradientConcurrencyLimit {
+	
+	private static final double LONG_RTT_ALPHA = 0.01;
+	private static final double MIN_GRADIENT = 0.5;
+	
+	private final LoadSheddingProperties loadSheddingProperties;
+	private final LongSupplier nanoClock;
+	private final long sampleWindowNanos;
+	private final AtomicInteger inflight = new AtomicInteger();
+	private final AtomicInteger windowMaxInflight = new AtomicInteger();
+	private final LongAdder windowRttNanos = new LongAdder();
+	private final LongAdder windowSamples = new LongAdder();
+	private final AtomicLong nextUpdateNanos;
+	private volatile double limit;
+	private volatile double longRttNanos;
+	
+	GradientConcurrencyLimit(final LoadSheddingProperties loadSheddingProperties) {
+		this(loadSheddingProperties, System::nanoTime);
+	}
+	
+	GradientConcurrencyLimit(final LoadSheddingProperties loadSheddingProperties, final LongSupplier nanoClock) {
+		this.loadSheddingProperties = loadSheddingProperties;
+		this.nanoClock = nanoClock;
+		this.sampleWindowNanos = loadSheddingProperties.getSampleWindow().toNanos();
+		this.nextUpdateNanos = new AtomicLong(nanoClock.getAsLong() + this.sampleWindowNanos);
+		this.limit = loadSheddingProperties.getInitialLimit();
+	}
+	
+	boolean tryAcquire(final double maxUtilization) {
+		final int allowed = Math.max(1, (int) (this.limit * maxUtilization));
+		while (true) {
+			final int current = this.inflight.get();
+			if (current >= allowed)
+				return false;
+			if (this.inflight.compareAndSet(current, current + 1)) {
+				if (current + 1 > this.windowMaxInflight.get())
+					this.windowMaxInflight.accumulateAndGet(current + 1, Math::max);
+				return true;
+			}
+		}
+	}
+	
+	void release() {
+		this.inflight.decrementAndGet();
+	}
+	
+	/**
+	 * Adds a round trip time to the current window, taken when the response started rather than 
+	 * when it ended, so long or streamed bodies don't read as latency.
+	 */
+	void sample(final long rttNanos) {
+		this.windowRttNanos.add(rttNanos);
+		this.windowSamples.increment();
+		
+		final long now = this.nanoClock.getAsLong();
+		final long nextUpdate = this.nextUpdateNanos.get();
+		if (now - nextUpdate >= 0 && this.nextUpdateNanos.compareAndSet(nextUpdate, now + this.sampleWindowNanos))
+			this.update();
+	}
+	
+	int getLimit() {
+		return (int) this.limit;
+	}
+	
+	int getInflight() {
+		return this.inflight.get();
+	}
+	
+	private void update() {
+		
+		final long samples = this.windowSamples.sumThenReset();
+		final long rttNanos = this.windowRttNanos.sumThenReset();
+		final int maxInflight = this.windowMaxInflight.getAndSet(this.inflight.get());
+		if (samples == 0)
+			return;
+		
+		final double shortRtt = (double) rttNanos / samples;
+		// the baseline drops quickly when latency improves but rises slowly, so queueing delay 
+		// under overload isn't mistaken for the new normal before the limit has reacted
+		final double longRtt;
+		if (this.longRttNanos == 0)
+			longRtt = shortRtt;
+		else if (shortRtt < this.longRttNanos)
+			longRtt = (this.longRttNanos + shortRtt) / 2;
+		else
+			longRtt = this.longRttNanos + (shortRtt - this.longRttNanos) * LONG_RTT_ALPHA;
+		this.longRttNanos = longRtt;
+		
+		final double current = this.limit;
+		final double gradient = Math.max(MIN_GRADIENT, 
+				Math.min(1.0, this.loadSheddingProperties.getLatencyTolerance() * longRtt / shortRtt));
+		double next = current * gradient + Math.sqrt(current);
+		
+		// don't grow a limit the traffic never came close to using
+		if (next > current && maxInflight < current / 2)
+			next = current;
+		
+		final double smoothing = this.loadSheddingProperties.getSmoothing();
+		this.limit = Math.max(this.loadSheddingProperties.getMinLimit(), 
+				Math.min(this.loadSheddingProperties.getMaxLimit(), current * (1 - smoothing) + next * smoothing));
+	}
+	
+	
+	
+}
@@ -0,0 +1,44 @@
+package com.selimhorri.app.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+public interface IdentitySignatureHelper {
+	
+	String ALGORITHM = "HmacSHA256";
+	
+	static String canonicalize(final String subject, final String tokenId, final String issuedAt, 
+			final String expiresAt, final String roles, final String accountStatus) {
+		return String.join("\n", 
+				nullToEmpty(subject), nullToEmpty(tokenId), nullToEmpty(issuedAt), 
+				nullToEmpty(expiresAt), nullToEmpty(roles), nullToEmpty(accountStatus));
+	}
+	
+	static String sign(final byte[] key, final String canonical) {
+		try {
+			final Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(new SecretKeySpec(key, ALGORITHM));
+			return Base64.getUrlEncoder().withoutPadding()
+					.encodeToString(mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	static boolean verify(final byte[] key, final String canonical, final String signature) {
+		return signature != null && MessageDigest.isEqual(
+				sign(key, canonical).getBytes(StandardCharsets.US_ASCII), 
+				signature.getBytes(StandardCharsets.US_ASCII));
+	}
+	
+	private static String nullToEmpty(final String value) {
+		return (value != null) ? value : "";
+	}
+	
+}
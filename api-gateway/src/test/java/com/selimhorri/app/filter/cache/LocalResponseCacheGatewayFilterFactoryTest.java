@@ -0,0 +1,121 @@
+package com.selimhorri.app.filter.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+
+class LocalResponseCacheGatewayFilterFactoryTest {
+	
+	private static final String ROUTE = "PRODUCT-SERVICE";
+	private static final String URI = "/product-service/api/products";
+	private static final String CHUNK = "0123456789abcdef";
+	
+	private final ResponseCacheProperties responseCacheProperties = properties();
+	private final ResponseCache responseCache = new ResponseCache(this.responseCacheProperties, new SimpleMeterRegistry());
+	private final GatewayFilter filter = filter(new LocalResponseCacheGatewayFilterFactory(this.responseCache,
+			this.responseCacheProperties));
+	
+	// entries up to four chunks
+	private static ResponseCacheProperties properties() {
+		final ResponseCacheProperties properties = new ResponseCacheProperties();
+		properties.setMaximumEntrySize(DataSize.ofBytes(4 * CHUNK.length()));
+		return properties;
+	}
+	
+	private static GatewayFilter filter(final LocalResponseCacheGatewayFilterFactory factory) {
+		final LocalResponseCacheGatewayFilterFactory.Config config = new LocalResponseCacheGatewayFilterFactory.Config();
+		config.setRouteId(ROUTE);
+		return factory.apply(config);
+	}
+	
+	// answers like a chunked upstream, a cacheable 200 without Content-Length
+	private static GatewayFilterChain chunked(final int chunks, final AtomicInteger upstreamCalls) {
+		return exchange -> {
+			upstreamCalls.incrementAndGet();
+			final ServerHttpResponse response = exchange.getResponse();
+			response.setStatusCode(HttpStatus.OK);
+			response.getHeaders().setCacheControl("public, s-maxage=60");
+			return response.writeWith(Flux.range(0, chunks)
+					.map(i -> response.bufferFactory().wrap(CHUNK.getBytes(StandardCharsets.UTF_8))));
+		};
+	}
+	
+	private MockServerWebExchange get(final GatewayFilterChain chain) {
+		final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(URI));
+		this.filter.filter(exchange, chain).block(Duration.ofSeconds(5));
+		return exchange;
+	}
+	
+	@Test
+	@DisplayName("Test 1: Chunked body within the limit - Cached and replayed")
+	void testFilter_CachesChunkedBodyWithinLimit() {
+		
+		final AtomicInteger upstreamCalls = new AtomicInteger();
+		final MockServerWebExchange miss = this.get(chunked(4, upstreamCalls));
+		assertEquals(CHUNK.repeat(4), miss.getResponse().getBodyAsString().block());
+		assertEquals("MISS", miss.getResponse().getHeaders().getFirst(LocalResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+		
+		final MockServerWebExchange hit = this.get(chunked(4, upstreamCalls));
+		assertEquals(CHUNK.repeat(4), hit.getResponse().getBodyAsString().block());
+		assertEquals("HIT", hit.getResponse().getHeaders().getFirst(LocalResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+		assertEquals(1, upstreamCalls.get());
+	}
+	
+	@Test
+	@DisplayName("Test 2: Chunked body over the limit - Streamed through whole and not cached")
+	void testFilter_PassesChunkedBodyOverLimit() {
+		
+		final AtomicInteger upstreamCalls = new AtomicInteger();
+		final MockServerWebExchange exchange = this.get(chunked(100, upstreamCalls));
+		assertEquals(CHUNK.repeat(100), exchange.getResponse().getBodyAsString().block());
+		assertNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH));
+		assertNull(this.responseCache.get(ROUTE, URI, new HttpHeaders()));
+		
+		this.get(chunked(100, upstreamCalls));
+		assertEquals(2, upstreamCalls.get());
+	}
+	
+	@Test
+	@DisplayName("Test 3: Endless body - Chunks past the limit are written before the upstream finishes")
+	void testAggregate_StreamsPastLimit() {
+		
+		final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+		final Flux<DataBuffer> endless = Flux.<DataBuffer>generate(sink -> 
+				sink.next(bufferFactory.wrap(CHUNK.getBytes(StandardCharsets.UTF_8))));
+		final AtomicInteger overflows = new AtomicInteger();
+		
+		final List<DataBuffer> written = BoundedBodyAggregator.aggregate(endless, bufferFactory, 
+						this.responseCacheProperties.getMaximumEntrySize().toBytes(), 
+						bytes -> fail("an endless body cannot complete"), overflows::incrementAndGet)
+				.take(10)
+				.collectList()
+				.block(Duration.ofSeconds(5));
+		
+		assertEquals(10, written.size());
+		assertEquals(1, overflows.get());
+	}
+	
+}
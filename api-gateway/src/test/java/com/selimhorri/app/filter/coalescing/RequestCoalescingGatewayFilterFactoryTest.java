@@ -0,0 +1,90 @@
+package com.selimhorri.app.filter.coalescing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+
+import com.selimhorri.app.config.coalescing.RequestCoalescingProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+class RequestCoalescingGatewayFilterFactoryTest {
+	
+	private static final String URI = "/product-service/api/products";
+	private static final String CHUNK = "0123456789abcdef";
+	
+	private final GatewayFilter filter = filter();
+	
+	// followers would wait up to 10s for a leader, shared responses hold up to four chunks
+	private static GatewayFilter filter() {
+		final RequestCoalescingProperties properties = new RequestCoalescingProperties();
+		properties.setMaximumResponseSize(DataSize.ofBytes(4 * CHUNK.length()));
+		final RequestCoalescingGatewayFilterFactory.Config config = new RequestCoalescingGatewayFilterFactory.Config();
+		config.setRouteId("PRODUCT-SERVICE");
+		config.setMaxWait(Duration.ofSeconds(10));
+		return new RequestCoalescingGatewayFilterFactory(properties, new SimpleMeterRegistry()).apply(config);
+	}
+	
+	private static GatewayFilterChain upstream(final Flux<String> chunks, final AtomicInteger upstreamCalls) {
+		return exchange -> {
+			upstreamCalls.incrementAndGet();
+			final ServerHttpResponse response = exchange.getResponse();
+			response.setStatusCode(HttpStatus.OK);
+			return response.writeWith(chunks.map(chunk -> response.bufferFactory().wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+		};
+	}
+	
+	@Test
+	@DisplayName("Test 1: Leader within the limit - Follower gets a copy")
+	void testFilter_FollowerSharesSmallResponse() {
+		
+		final AtomicInteger upstreamCalls = new AtomicInteger();
+		final MockServerWebExchange leader = MockServerWebExchange.from(MockServerHttpRequest.get(URI));
+		final Disposable leading = this.filter.filter(leader, upstream(Flux.just(CHUNK, CHUNK)
+				.delayElements(Duration.ofMillis(200)), upstreamCalls)).subscribe();
+		
+		final MockServerWebExchange follower = MockServerWebExchange.from(MockServerHttpRequest.get(URI));
+		this.filter.filter(follower, upstream(Flux.just("follower"), upstreamCalls)).block(Duration.ofSeconds(5));
+		
+		assertEquals(CHUNK.repeat(2), follower.getResponse().getBodyAsString().block());
+		assertEquals("true", follower.getResponse().getHeaders().getFirst(RequestCoalescingGatewayFilterFactory.COALESCED_HEADER));
+		assertEquals(1, upstreamCalls.get());
+		leading.dispose();
+	}
+	
+	@Test
+	@DisplayName("Test 2: Chunked leader over the limit - Follower goes upstream while the leader still streams")
+	void testFilter_FollowerReleasedOnOverflow() {
+		
+		final AtomicInteger upstreamCalls = new AtomicInteger();
+		final MockServerWebExchange leader = MockServerWebExchange.from(MockServerHttpRequest.get(URI));
+		final Disposable leading = this.filter.filter(leader, upstream(Flux.just(CHUNK).repeat(9)
+				.concatWith(Flux.never()), upstreamCalls)).subscribe();
+		
+		final MockServerWebExchange follower = MockServerWebExchange.from(MockServerHttpRequest.get(URI));
+		this.filter.filter(follower, upstream(Flux.just("follower"), upstreamCalls)).block(Duration.ofSeconds(1));
+		
+		assertEquals("follower", follower.getResponse().getBodyAsString().block());
+		assertNull(follower.getResponse().getHeaders().getFirst(RequestCoalescingGatewayFilterFactory.COALESCED_HEADER));
+		assertEquals(2, upstreamCalls.get());
+		assertFalse(leading.isDisposed());
+		leading.dispose();
+	}
+	
+}
@@ -0,0 +1,78 @@
+package com.selimhorri.app.filter.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.http.HttpHeaders;
+
+import com.selimhorri.app.config.ratelimit.RateLimitProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LocalTokenBucketRateLimiterTest {
+	
+	private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+	private final LocalTokenBucketRateLimiter rateLimiter = new LocalTokenBucketRateLimiter(properties(), null,
+			new SimpleMeterRegistry(), this.clock::get);
+	
+	// 10 per second, so one token every 100ms, and a burst of 3
+	private static RateLimitProperties properties() {
+		final RateLimitProperties properties = new RateLimitProperties();
+		properties.setReplenishRate(10);
+		properties.setBurstCapacity(3);
+		return properties;
+	}
+	
+	private Response request() {
+		return this.rateLimiter.isAllowed("route", "client").block();
+	}
+	
+	@Test
+	@DisplayName("Test 1: Burst - Full bucket admits exactly the burst capacity")
+	void testIsAllowed_Burst() {
+		
+		assertEquals("2", this.request().getHeaders().get(LocalTokenBucketRateLimiter.REMAINING_HEADER));
+		assertEquals("1", this.request().getHeaders().get(LocalTokenBucketRateLimiter.REMAINING_HEADER));
+		assertEquals("0", this.request().getHeaders().get(LocalTokenBucketRateLimiter.REMAINING_HEADER));
+		
+		final Response rejected = this.request();
+		assertFalse(rejected.isAllowed());
+		assertEquals("1", rejected.getHeaders().get(HttpHeaders.RETRY_AFTER));
+		assertTrue(this.rateLimiter.isAllowed("route", "other").block().isAllowed());
+	}
+	
+	@Test
+	@DisplayName("Test 2: Refill - One token comes back per interval")
+	void testIsAllowed_Refill() {
+		
+		for (int i = 0; i < 3; i++)
+			assertTrue(this.request().isAllowed());
+		assertFalse(this.request().isAllowed());
+		
+		this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100) - 1);
+		assertFalse(this.request().isAllowed());
+		this.clock.addAndGet(1);
+		assertTrue(this.request().isAllowed());
+		assertFalse(this.request().isAllowed());
+	}
+	
+	@Test
+	@DisplayName("Test 3: Idle - Bucket refills up to the burst capacity only")
+	void testIsAllowed_RefillCappedAtBurst() {
+		
+		assertTrue(this.request().isAllowed());
+		this.clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+		
+		for (int i = 0; i < 3; i++)
+			assertTrue(this.request().isAllowed());
+		assertFalse(this.request().isAllowed());
+	}
+	
+}
@@ -0,0 +1,83 @@
+package com.selimhorri.app.filter.shedding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.config.shedding.LoadSheddingProperties;
+
+class GradientConcurrencyLimitTest {
+	
+	private final LoadSheddingProperties loadSheddingProperties = new LoadSheddingProperties();
+	private final AtomicLong clock = new AtomicLong();
+	private final GradientConcurrencyLimit limit =
+			new GradientConcurrencyLimit(this.loadSheddingProperties, this.clock::get);
+	
+	// runs one sample window in which the given number of requests overlap, the last sample folds it in
+	private void window(final int concurrency, final long rttMillis) {
+		for (int i = 0; i < concurrency; i++)
+			assertTrue(this.limit.tryAcquire(1.0));
+		for (int i = 1; i < concurrency; i++) {
+			this.limit.release();
+			this.limit.sample(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+		}
+		this.clock.addAndGet(this.loadSheddingProperties.getSampleWindow().toNanos());
+		this.limit.release();
+		this.limit.sample(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+	}
+	
+	@Test
+	@DisplayName("Test 1: Stable latency - Limit grows while the traffic uses it")
+	void testRelease_GrowsOnStableRtt() {
+		
+		this.window(100, 10);
+		final int grown = this.limit.getLimit();
+		assertTrue(grown > 100);
+		
+		this.window(100, 10);
+		assertTrue(this.limit.getLimit() > grown);
+	}
+	
+	@Test
+	@DisplayName("Test 2: Rising latency - Limit shrinks while the baseline lags behind")
+	void testRelease_ShrinksOnRisingRtt() {
+		
+		this.window(100, 10);
+		this.window(100, 10);
+		final int before = this.limit.getLimit();
+		
+		int previous = before;
+		for (int i = 0; i < 10; i++) {
+			this.window(10, 50);
+			assertTrue(this.limit.getLimit() < previous);
+			previous = this.limit.getLimit();
+		}
+		assertTrue(previous < before / 2);
+	}
+	
+	@Test
+	@DisplayName("Test 3: Light traffic - Limit does not grow past what is used")
+	void testRelease_NoGrowthWhenUnused() {
+		
+		this.window(10, 10);
+		this.window(10, 10);
+		assertEquals(100, this.limit.getLimit());
+	}
+	
+	@Test
+	@DisplayName("Test 4: Utilization - Admission stops at the share of the limit")
+	void testTryAcquire_RespectsUtilization() {
+		
+		for (int i = 0; i < 80; i++)
+			assertTrue(this.limit.tryAcquire(0.8));
+		assertFalse(this.limit.tryAcquire(0.8));
+		assertTrue(this.limit.tryAcquire(1.0));
+	}
+	
+}
@@ -0,0 +1,35 @@
+package com.selimhorri.app.config.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.dto.UserDto;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Configuration
+@EnableConfigurationProperties(UserCacheProperties.class)
+public class CacheConfig {
+	
+	@Bean
+	public Cache<Integer, UserDto> userDtoCache(final UserCacheProperties userCacheProperties) {
+		return Caffeine.newBuilder()
+				.maximumSize(userCacheProperties.getMaximumSize())
+				.expireAfterWrite(userCacheProperties.getExpireAfterWrite())
+				.recordStats()
+				.build();
+	}
+	
+	@Bean
+	public MeterBinder userDtoCacheMetrics(final Cache<Integer, UserDto> userDtoCache) {
+		return registry -> new CaffeineCacheMetrics(userDtoCache, "userDtoCache", Tags.empty()).bindTo(registry);
+	}
+	
+	
+	
+}
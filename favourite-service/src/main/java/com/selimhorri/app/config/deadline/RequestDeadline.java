@@ -0,0 +1,66 @@
+package com.selimhorri.app.config.deadline;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Deadline of the request handled by the current thread, set from the {@value #HEADER} header 
+ * which carries the milliseconds left when the caller sent it. Work handed to executors keeps it 
+ * through {@link #propagate(Runnable)}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RequestDeadline {
+	
+	public static final String HEADER = "X-Request-Deadline";
+	
+	private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+	
+	public static void begin(final long remainingMillis) {
+		DEADLINE_NANOS.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(remainingMillis));
+	}
+	
+	public static void end() {
+		DEADLINE_NANOS.remove();
+	}
+	
+	public static boolean isSet() {
+		return DEADLINE_NANOS.get() != null;
+	}
+	
+	/**
+	 * @return the milliseconds left, zero or less once the deadline has passed, {@link Long#MAX_VALUE} without one
+	 */
+	public static long remainingMillis() {
+		final Long deadlineNanos = DEADLINE_NANOS.get();
+		return (deadlineNanos != null) ? 
+				TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()) 
+				: Long.MAX_VALUE;
+	}
+	
+	/**
+	 * Task decorator carrying the submitting thread's deadline over to the worker.
+	 */
+	public static Runnable propagate(final Runnable task) {
+		final Long deadlineNanos = DEADLINE_NANOS.get();
+		if (deadlineNanos == null)
+			return task;
+		return () -> {
+			final Long previous = DEADLINE_NANOS.get();
+			DEADLINE_NANOS.set(deadlineNanos);
+			try {
+				task.run();
+			}
+			finally {
+				if (previous != null)
+					DEADLINE_NANOS.set(previous);
+				else
+					DEADLINE_NANOS.remove();
+			}
+		};
+	}
+	
+	
+	
+}
@@ -0,0 +1,38 @@
+package com.selimhorri.app.config.executor;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.selimhorri.app.config.deadline.RequestDeadline;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+@EnableConfigurationProperties(LookupExecutorProperties.class)
+public class ExecutorConfig {
+	
+	@Bean
+	public ThreadPoolTaskExecutor lookupExecutor(final LookupExecutorProperties lookupExecutorProperties) {
+		final var executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(lookupExecutorProperties.getParallelism());
+		executor.setMaxPoolSize(lookupExecutorProperties.getParallelism());
+		executor.setQueueCapacity(lookupExecutorProperties.getQueueCapacity());
+		executor.setAllowCoreThreadTimeOut(true);
+		executor.setThreadNamePrefix("lookup-");
+		executor.setTaskDecorator(RequestDeadline::propagate);
+		return executor;
+	}
+	
+	@Bean
+	public MeterBinder lookupExecutorMetrics(final ThreadPoolTaskExecutor lookupExecutor) {
+		return registry -> new ExecutorServiceMetrics(lookupExecutor.getThreadPoolExecutor(), 
+				"lookupExecutor", Tags.empty()).bindTo(registry);
+	}
+	
+	
+	
+}
@@ -0,0 +1,28 @@
+package com.selimhorri.app.config.executor;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.lookup-executor")
+@Data
+public class LookupExecutorProperties {
+	
+	/**
+	 * Max number of remote lookups (USER-SERVICE, PRODUCT-SERVICE) in flight at once
+	 */
+	private int parallelism = 16;
+	
+	/**
+	 * Lookups waiting for a worker before new ones are rejected and fall back
+	 */
+	private int queueCapacity = 256;
+	
+	/**
+	 * Per-call budget, after which the lookup falls back to the stub dto
+	 */
+	private Duration timeout = Duration.ofSeconds(2);
+	
+}
@@ -0,0 +1,28 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Marks the load balanced calls made by the current thread as one attempt of a hedged request. 
+ * Blocking clients choose the instance and run the lifecycle on the calling thread, 
+ * so attempts sharing an id can be kept apart without touching the request.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class HedgedAttempt {
+	
+	private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+	
+	public static String current() {
+		return CURRENT.get();
+	}
+	
+	public static void begin(final String hedgeId) {
+		CURRENT.set(hedgeId);
+	}
+	
+	public static void end() {
+		CURRENT.remove();
+	}
+	
+}
@@ -0,0 +1,135 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.micrometer.core.instrument.Meter;
+
+/**
+ * Live load of one instance: the requests currently sent to it and a peak-sensitive moving 
+ * average of their latency. A slower sample replaces the average at once, faster ones blend 
+ * in with a weight that depends on the time since the previous sample, and the average decays 
+ * towards zero while the instance is not used so it gets probed again.
+ */
+class InstanceStats {
+	
+	private final String serviceId;
+	private final String instance;
+	private final double decayNanos;
+	private final ConcurrentMap<RequestKey, Long> outstanding = new ConcurrentHashMap<>();
+	private volatile double latencyNanos;
+	private volatile long stampNanos;
+	private volatile long lastUsedNanos;
+	private volatile List<Meter> meters = List.of();
+	
+	InstanceStats(final String serviceId, final String instance, final long decayNanos, final long now) {
+		this.serviceId = serviceId;
+		this.instance = instance;
+		this.decayNanos = decayNanos;
+		this.stampNanos = now;
+		this.lastUsedNanos = now;
+	}
+	
+	void start(final Object request, final long now) {
+		this.lastUsedNanos = now;
+		this.outstanding.put(new RequestKey(request), now);
+	}
+	
+	/**
+	 * @return the latency of the request, or -1 when it was not started here or already swept
+	 */
+	long complete(final Object request, final long now, final long minimumNanos) {
+		final Long startedAt = this.outstanding.remove(new RequestKey(request));
+		if (startedAt == null)
+			return -1L;
+		final long latency = now - startedAt;
+		this.observe(Math.max(latency, minimumNanos), now);
+		return latency;
+	}
+	
+	/**
+	 * Expected cost of sending one more request here, the decayed latency times the queue it would join.
+	 * An instance with requests in flight but no completed sample yet is charged the penalty per request.
+	 */
+	double cost(final long now, final long penaltyNanos) {
+		final int inFlight = this.outstanding.size();
+		final double latency = this.latencyNanos(now);
+		if (latency == 0.0d && inFlight > 0)
+			return (double) penaltyNanos * inFlight;
+		return latency * (inFlight + 1);
+	}
+	
+	double latencyNanos(final long now) {
+		final long elapsed = Math.max(0L, now - this.stampNanos);
+		return this.latencyNanos * Math.exp(-elapsed / this.decayNanos);
+	}
+	
+	int inFlight() {
+		return this.outstanding.size();
+	}
+	
+	int sweep(final long now, final long maxAgeNanos) {
+		final int before = this.outstanding.size();
+		this.outstanding.values().removeIf(startedAt -> now - startedAt > maxAgeNanos);
+		return before - this.outstanding.size();
+	}
+	
+	boolean isIdle(final long now, final long idleNanos) {
+		return this.outstanding.isEmpty() && now - this.lastUsedNanos > idleNanos;
+	}
+	
+	String getServiceId() {
+		return this.serviceId;
+	}
+	
+	String getInstance() {
+		return this.instance;
+	}
+	
+	List<Meter> getMeters() {
+		return this.meters;
+	}
+	
+	void setMeters(final List<Meter> meters) {
+		this.meters = meters;
+	}
+	
+	private synchronized void observe(final double sampleNanos, final long now) {
+		final double decayed = this.latencyNanos(now);
+		if (sampleNanos > decayed) {
+			this.latencyNanos = sampleNanos;
+		}
+		else {
+			final double weight = Math.exp(-Math.max(0L, now - this.stampNanos) / this.decayNanos);
+			this.latencyNanos = decayed * weight + sampleNanos * (1.0d - weight);
+		}
+		this.stampNanos = now;
+	}
+	
+	/**
+	 * Load balancer requests compare equal by content, two identical GETs would collide.
+	 */
+	private static final class RequestKey {
+		
+		private final Object request;
+		
+		private RequestKey(final Object request) {
+			this.request = request;
+		}
+		
+		@Override
+		public boolean equals(final Object other) {
+			return other instanceof RequestKey && ((RequestKey) other).request == this.request;
+		}
+		
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this.request);
+		}
+		
+	}
+	
+	
+	
+}
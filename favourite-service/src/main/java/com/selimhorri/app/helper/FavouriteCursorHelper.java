@@ -0,0 +1,32 @@
+package com.selimhorri.app.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.selimhorri.app.domain.id.FavouriteId;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.exception.wrapper.InvalidCursorException;
+
+public interface FavouriteCursorHelper {
+	
+	public static String encode(final FavouriteDto favouriteDto) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(String.join(",", 
+						String.valueOf(favouriteDto.getUserId()), 
+						String.valueOf(favouriteDto.getProductId()), 
+						favouriteDto.getLikeDate().toString())
+				.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	public static FavouriteId decode(final String cursor) {
+		try {
+			final var keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",");
+			return new FavouriteId(Integer.parseInt(keys[0]), Integer.parseInt(keys[1]), LocalDateTime.parse(keys[2]));
+		}
+		catch (final IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+			throw new InvalidCursorException(String.format("Cursor: %s is not valid", cursor), e);
+		}
+	}
+	
+}
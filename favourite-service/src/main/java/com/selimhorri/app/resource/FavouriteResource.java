@@ -14,12 +14,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.FavouriteCursorHelper;
 import com.selimhorri.app.service.FavouriteService;
 
 import lombok.RequiredArgsConstructor;
@@ -34,9 +36,17 @@ public class FavouriteResource {
 	private final FavouriteService favouriteService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
 		log.info("*** FavouriteDto List, controller; fetch all favourites *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAll()));
+		if (after == null && limit == null) {
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAll()));
+		}
+		final int pageLimit = Math.max(1, Math.min((limit != null) ? limit : AppConstant.DEFAULT_PAGE_LIMIT, AppConstant.MAX_PAGE_LIMIT));
+		final var favouriteDtos = this.favouriteService.findAll((after != null) ? FavouriteCursorHelper.decode(after) : null, pageLimit);
+		return ResponseEntity.ok(new DtoCollectionResponse<>(favouriteDtos, (favouriteDtos.size() == pageLimit) 
+				? FavouriteCursorHelper.encode(favouriteDtos.get(favouriteDtos.size() - 1)) : null));
 	}
 	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
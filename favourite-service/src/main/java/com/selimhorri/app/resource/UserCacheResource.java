@@ -0,0 +1,64 @@
+package com.selimhorri.app.resource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.selimhorri.app.config.cache.UserCacheProperties;
+import com.selimhorri.app.dto.UserDto;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/cache/users")
+@Slf4j
+@RequiredArgsConstructor
+public class UserCacheResource {
+	
+	private final Cache<Integer, UserDto> userDtoCache;
+	private final UserCacheProperties userCacheProperties;
+	
+	@DeleteMapping("/{userId}")
+	public ResponseEntity<Boolean> evict(
+			@RequestHeader(name = "X-Cache-Eviction-Secret", required = false) final String evictionSecret, 
+			@PathVariable("userId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String userId) {
+		if (!this.isAuthorized(evictionSecret))
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(false);
+		log.info("*** Boolean, resource; evict cached user by id *");
+		this.userDtoCache.invalidate(Integer.parseInt(userId));
+		return ResponseEntity.ok(true);
+	}
+	
+	@DeleteMapping
+	public ResponseEntity<Boolean> evictAll(
+			@RequestHeader(name = "X-Cache-Eviction-Secret", required = false) final String evictionSecret) {
+		if (!this.isAuthorized(evictionSecret))
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(false);
+		log.info("*** Boolean, resource; evict all cached users *");
+		this.userDtoCache.invalidateAll();
+		return ResponseEntity.ok(true);
+	}
+	
+	private boolean isAuthorized(final String evictionSecret) {
+		final String expected = this.userCacheProperties.getEvictionSecret();
+		return expected != null && !expected.isBlank() && evictionSecret != null 
+				&& MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), evictionSecret.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	
+	
+}
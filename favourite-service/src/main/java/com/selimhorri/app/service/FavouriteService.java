@@ -8,6 +8,7 @@ import com.selimhorri.app.dto.FavouriteDto;
 public interface FavouriteService {
 	
 	List<FavouriteDto> findAll();
+	List<FavouriteDto> findAll(final FavouriteId after, final int limit);
 	FavouriteDto findById(final FavouriteId favouriteId);
 	FavouriteDto save(final FavouriteDto favouriteDto);
 	FavouriteDto update(final FavouriteDto favouriteDto);
@@ -1,23 +1,44 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.selimhorri.app.config.executor.LookupExecutorProperties;
+import com.selimhorri.app.config.hedging.HedgedRequestExecutor;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.helper.FavouriteMappingHelper;
 import com.selimhorri.app.repository.FavouriteRepository;
 import com.selimhorri.app.service.FavouriteService;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -29,24 +50,31 @@ public class FavouriteServiceImpl implements FavouriteService {
 	
 	private final FavouriteRepository favouriteRepository;
 	private final RestTemplate restTemplate;
+	private final ThreadPoolTaskExecutor lookupExecutor;
+	private final LookupExecutorProperties lookupExecutorProperties;
+	private final MeterRegistry meterRegistry;
+	private final Cache<Integer, UserDto> userDtoCache;
+	private final HedgedRequestExecutor hedgedRequestExecutor;
 	
 	@Override
 	public List<FavouriteDto> findAll() {
 		log.info("*** FavouriteDto List, service; fetch all favourites *");
-		return this.favouriteRepository.findAll()
+		return this.withUsersAndProducts(this.favouriteRepository.findAll()
 				.stream()
 					.map(FavouriteMappingHelper::map)
-					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-						return f;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	public List<FavouriteDto> findAll(final FavouriteId after, final int limit) {
+		log.info("*** FavouriteDto List, service; fetch favourites page *");
+		final var favourites = (after == null) 
+				? this.favouriteRepository.findAllByOrderByUserIdAscProductIdAscLikeDateAsc(PageRequest.of(0, limit)) 
+				: this.favouriteRepository.findAllAfter(after.getUserId(), after.getProductId(), after.getLikeDate(), 
+						PageRequest.of(0, limit));
+		return this.withUsersAndProducts(favourites.stream()
+				.map(FavouriteMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList()));
 	}
 	
 	@Override
@@ -55,12 +83,14 @@ public class FavouriteServiceImpl implements FavouriteService {
 		return this.favouriteRepository.findById(favouriteId)
 				.map(FavouriteMappingHelper::map)
 				.map(f -> {
-					f.setUserDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-					f.setProductDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
+					final var userDto = this.lookup(() -> this.userDtoCache.get(f.getUserId(), userId -> this.hedgedRequestExecutor
+							.execute("USER-SERVICE", () -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+									.USER_SERVICE_API_URL + "/" + userId, UserDto.class))), f.getUserDto());
+					final var productDto = this.lookup(() -> this.hedgedRequestExecutor
+							.execute("PRODUCT-SERVICE", () -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+									.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class)), f.getProductDto());
+					f.setUserDto(userDto.join());
+					f.setProductDto(productDto.join());
 					return f;
 				})
 				.orElseThrow(() -> new FavouriteNotFoundException(
@@ -84,6 +114,101 @@ public class FavouriteServiceImpl implements FavouriteService {
 		this.favouriteRepository.deleteById(favouriteId);
 	}
 	
+	private List<FavouriteDto> withUsersAndProducts(final List<FavouriteDto> favouriteDtos) {
+		final var userDtos = this.findUsersByIdsCached(favouriteDtos.stream()
+				.map(FavouriteDto::getUserId)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toUnmodifiableSet()));
+		final var productDtos = this.lookupInChunks(favouriteDtos.stream()
+				.map(FavouriteDto::getProductId)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toUnmodifiableSet()), this::findProductsByIds);
+		CompletableFuture.allOf(userDtos, productDtos).join();
+		return favouriteDtos.stream()
+					.map(f -> {
+						f.setUserDto(userDtos.join().getOrDefault(f.getUserId(), f.getUserDto()));
+						f.setProductDto(productDtos.join().getOrDefault(f.getProductId(), f.getProductDto()));
+						return f;
+					})
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private <T> CompletableFuture<T> lookup(final Supplier<T> remoteCall, final T fallback) {
+		try {
+			return CompletableFuture.supplyAsync(remoteCall, this.lookupExecutor)
+					.orTimeout(this.lookupExecutorProperties.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+					.exceptionally(e -> {
+						final var cause = (e instanceof CompletionException) ? e.getCause() : e;
+						return this.fallback(fallback, (cause instanceof TimeoutException) ? "timeout" : "error", cause);
+					});
+		}
+		catch (final RejectedExecutionException e) {
+			return CompletableFuture.completedFuture(this.fallback(fallback, "rejected", e));
+		}
+	}
+	
+	private <T> T fallback(final T fallback, final String reason, final Throwable cause) {
+		log.warn("*** remote lookup fell back ({}): {} *", reason, cause.toString());
+		this.meterRegistry.counter("favourite.lookup.fallbacks", "reason", reason).increment();
+		return fallback;
+	}
+	
+	private <T> CompletableFuture<Map<Integer, T>> lookupInChunks(final Set<Integer> ids, 
+			final Function<List<Integer>, Map<Integer, T>> chunkLookup) {
+		final var idList = new ArrayList<>(ids);
+		final List<CompletableFuture<Map<Integer, T>>> chunks = new ArrayList<>();
+		for (int from = 0; from < idList.size(); from += AppConstant.REMOTE_LOOKUP_CHUNK_SIZE) {
+			final var chunk = List.copyOf(idList.subList(from, Math.min(from + AppConstant.REMOTE_LOOKUP_CHUNK_SIZE, idList.size())));
+			chunks.add(this.lookup(() -> chunkLookup.apply(chunk), Map.of()));
+		}
+		return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+				.thenApply(v -> {
+					final Map<Integer, T> result = new HashMap<>(idList.size());
+					chunks.forEach(c -> result.putAll(c.join()));
+					return result;
+				});
+	}
+	
+	private CompletableFuture<Map<Integer, UserDto>> findUsersByIdsCached(final Set<Integer> userIds) {
+		final var cached = this.userDtoCache.getAllPresent(userIds);
+		final var missingIds = userIds.stream()
+				.filter(userId -> !cached.containsKey(userId))
+				.collect(Collectors.toUnmodifiableSet());
+		return this.lookupInChunks(missingIds, this::findUsersByIds)
+				.thenApply(loaded -> {
+					this.userDtoCache.putAll(loaded);
+					final Map<Integer, UserDto> userDtos = new HashMap<>(cached);
+					userDtos.putAll(loaded);
+					return userDtos;
+				});
+	}
+	
+	private Map<Integer, UserDto> findUsersByIds(final List<Integer> userIds) {
+		final var response = this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi
+				.USER_SERVICE_API_URL + "?ids=" + joinIds(userIds), 
+				HttpMethod.GET, null, new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {}).getBody();
+		if (response == null || response.getCollection() == null) {
+			return Map.of();
+		}
+		return response.getCollection()
+				.stream()
+					.collect(Collectors.toUnmodifiableMap(UserDto::getUserId, Function.identity(), (u1, u2) -> u1));
+	}
+	
+	private Map<Integer, ProductDto> findProductsByIds(final List<Integer> productIds) {
+		final var response = this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi
+				.PRODUCT_SERVICE_API_URL + "?ids=" + joinIds(productIds), 
+				HttpMethod.GET, null, new ParameterizedTypeReference<Map<Integer, ProductDto>>() {}).getBody();
+		return (response != null) ? response : Map.of();
+	}
+	
+	private static String joinIds(final List<Integer> ids) {
+		return ids.stream()
+				.map(String::valueOf)
+				.collect(Collectors.joining(","));
+	}
+	
 	
 	
 }
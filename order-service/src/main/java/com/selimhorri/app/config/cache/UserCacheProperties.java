@@ -0,0 +1,23 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import javax.validation.constraints.Pattern;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.user-cache")
+@Validated
+@Data
+public class UserCacheProperties {
+	
+	private long maximumSize = 10_000;
+	private Duration expireAfterWrite = Duration.ofMinutes(10);
+	
+	@Pattern(regexp = "(?!changeit$)(|.*\\S.*)", message = "must not be blank or the changeit placeholder")
+	private String evictionSecret;
+	
+}
@@ -0,0 +1,230 @@
+package com.selimhorri.app.config.hedging;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.deadline.RequestDeadline;
+import com.selimhorri.app.config.loadbalancer.HedgedAttempt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Runs idempotent remote reads with a backup attempt. The first attempt runs on the calling thread, when it 
+ * has not answered within the route's observed percentile latency a second one is sent from the hedging pool. 
+ * The call returns once the first attempt is done, with whichever answer came first, and falls back to the 
+ * backup's answer when the first attempt fails. Both attempts run as the same {@link HedgedAttempt}, 
+ * so the load balancer sends them to different instances.
+ *
+ * Hedges are paid from a budget that every call tops up by {@code budget-ratio}, so hedging never adds 
+ * more than that share of extra load even when a whole route slows down.
+ */
+@Component
+public class HedgedRequestExecutor {
+	
+	private static final long CREDIT = 1_000_000L;
+	private static final long REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+	
+	private final HedgingProperties hedgingProperties;
+	private final ThreadPoolTaskExecutor hedgingExecutor;
+	private final MeterRegistry meterRegistry;
+	private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+	private final AtomicLong budget;
+	private final LongSupplier nanoClock;
+	
+	@Autowired
+	public HedgedRequestExecutor(final HedgingProperties hedgingProperties, final ThreadPoolTaskExecutor hedgingExecutor, 
+			final MeterRegistry meterRegistry) {
+		this(hedgingProperties, hedgingExecutor, meterRegistry, System::nanoTime);
+	}
+	
+	HedgedRequestExecutor(final HedgingProperties hedgingProperties, final ThreadPoolTaskExecutor hedgingExecutor, 
+			final MeterRegistry meterRegistry, final LongSupplier nanoClock) {
+		this.nanoClock = nanoClock;
+		this.hedgingProperties = hedgingProperties;
+		this.hedgingExecutor = hedgingExecutor;
+		this.meterRegistry = meterRegistry;
+		this.budget = new AtomicLong(hedgingProperties.getMaximumBurst() * CREDIT);
+		Gauge.builder("hedging.budget", this.budget, credits -> (double) credits.get() / CREDIT)
+				.register(meterRegistry);
+	}
+	
+	public <T> T execute(final String routeId, final Supplier<T> call) {
+		
+		if (!this.hedgingProperties.isEnabled())
+			return call.get();
+		
+		final Route route = this.routes.computeIfAbsent(routeId, Route::new);
+		route.calls.increment();
+		this.deposit();
+		
+		final long delayNanos = route.delayNanos();
+		if (delayNanos <= 0)
+			return this.attempt(route, call, null);
+		
+		final String hedgeId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+		final CompletableFuture<T> first = new CompletableFuture<>();
+		final AtomicReference<CompletableFuture<T>> backup = new AtomicReference<>();
+		final Runnable backupAttempt = RequestDeadline.propagate(() -> this.hedge(route, call, hedgeId, first, backup));
+		CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, Runnable::run).execute(backupAttempt);
+		
+		final T result;
+		try {
+			result = this.attempt(route, call, hedgeId);
+		}
+		catch (final RuntimeException e) {
+			if (backup.compareAndSet(null, first))
+				throw e;
+			try {
+				return backup.get().join();
+			}
+			catch (final CompletionException | CancellationException ignored) {
+				throw e;
+			}
+		}
+		
+		// closing the slot keeps a late timer from sending a backup nobody waits for
+		backup.compareAndSet(null, first);
+		first.complete(result);
+		return first.join();
+	}
+	
+	/**
+	 * Sends the backup attempt once the hedge delay has passed, unless the primary has answered by then. 
+	 * Only the backup goes through the pool, the primary stays on the calling thread.
+	 */
+	private <T> void hedge(final Route route, final Supplier<T> call, final String hedgeId, 
+			final CompletableFuture<T> first, final AtomicReference<CompletableFuture<T>> backup) {
+		
+		final CompletableFuture<T> attempt = new CompletableFuture<>();
+		if (!backup.compareAndSet(null, attempt))
+			return;
+		
+		if (!this.withdraw()) {
+			route.budgetExhausted.increment();
+			attempt.cancel(false);
+			return;
+		}
+		
+		try {
+			this.hedgingExecutor.execute(() -> {
+				try {
+					attempt.complete(this.attempt(route, call, hedgeId));
+				}
+				catch (final RuntimeException e) {
+					attempt.completeExceptionally(e);
+				}
+			});
+		}
+		catch (final RejectedExecutionException e) {
+			this.refund();
+			attempt.cancel(false);
+			return;
+		}
+		route.hedges.increment();
+		
+		attempt.thenAccept(result -> {
+			if (first.complete(result))
+				route.wins.increment();
+		});
+	}
+	
+	private <T> T attempt(final Route route, final Supplier<T> call, final String hedgeId) {
+		final long start = this.nanoClock.getAsLong();
+		HedgedAttempt.begin(hedgeId);
+		try {
+			final T result = call.get();
+			route.latency.record(this.nanoClock.getAsLong() - start, TimeUnit.NANOSECONDS);
+			return result;
+		}
+		finally {
+			HedgedAttempt.end();
+		}
+	}
+	
+	private void deposit() {
+		final long ceiling = this.hedgingProperties.getMaximumBurst() * CREDIT;
+		final long credit = (long) (this.hedgingProperties.getBudgetRatio() * CREDIT);
+		this.budget.getAndUpdate(credits -> Math.min(ceiling, credits + credit));
+	}
+	
+	private boolean withdraw() {
+		while (true) {
+			final long credits = this.budget.get();
+			if (credits < CREDIT)
+				return false;
+			if (this.budget.compareAndSet(credits, credits - CREDIT))
+				return true;
+		}
+	}
+	
+	private void refund() {
+		this.budget.addAndGet(CREDIT);
+	}
+	
+	private final class Route {
+		
+		private final Timer latency;
+		private final Counter calls;
+		private final Counter hedges;
+		private final Counter wins;
+		private final Counter budgetExhausted;
+		private volatile long delayNanos;
+		private volatile long refreshedAt = HedgedRequestExecutor.this.nanoClock.getAsLong() - REFRESH_INTERVAL_NANOS;
+		
+		private Route(final String routeId) {
+			final MeterRegistry registry = HedgedRequestExecutor.this.meterRegistry;
+			this.latency = Timer.builder("hedging.latency")
+					.tag("route", routeId)
+					.publishPercentiles(HedgedRequestExecutor.this.hedgingProperties.getPercentile())
+					.register(registry);
+			this.calls = registry.counter("hedging.calls", "route", routeId);
+			this.hedges = registry.counter("hedging.hedges", "route", routeId);
+			this.wins = registry.counter("hedging.wins", "route", routeId);
+			this.budgetExhausted = registry.counter("hedging.budget.exhausted", "route", routeId);
+		}
+		
+		/**
+		 * @return the current hedge delay, or 0 while the route has too few samples to hedge
+		 */
+		private long delayNanos() {
+			final long now = HedgedRequestExecutor.this.nanoClock.getAsLong();
+			if (now - this.refreshedAt >= REFRESH_INTERVAL_NANOS) {
+				this.refreshedAt = now;
+				this.delayNanos = this.computeDelayNanos();
+			}
+			return this.delayNanos;
+		}
+		
+		private long computeDelayNanos() {
+			final HedgingProperties properties = HedgedRequestExecutor.this.hedgingProperties;
+			if (this.latency.count() < properties.getMinimumSamples())
+				return 0L;
+			final ValueAtPercentile[] percentiles = this.latency.takeSnapshot().percentileValues();
+			if (percentiles.length == 0 || percentiles[0].value() <= 0)
+				return 0L;
+			return Math.max(properties.getMinimumDelay().toNanos(), (long) percentiles[0].value(TimeUnit.NANOSECONDS));
+		}
+		
+	}
+	
+	
+	
+}
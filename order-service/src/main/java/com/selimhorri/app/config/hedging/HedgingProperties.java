@@ -0,0 +1,47 @@
+package com.selimhorri.app.config.hedging;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.hedging")
+@Data
+public class HedgingProperties {
+	
+	private boolean enabled = true;
+	
+	/**
+	 * Latency percentile of a route after which a second attempt is sent
+	 */
+	private double percentile = 0.95;
+	
+	/**
+	 * Successful calls a route needs before its percentile is trusted
+	 */
+	private long minimumSamples = 100;
+	
+	/**
+	 * Lower bound for the hedge delay, so very fast routes are not hedged on noise
+	 */
+	private Duration minimumDelay = Duration.ofMillis(5);
+	
+	/**
+	 * Extra load hedging may add, as a fraction of hedgeable calls
+	 */
+	private double budgetRatio = 0.05;
+	
+	/**
+	 * Hedges that can be saved up while traffic is calm
+	 */
+	private int maximumBurst = 10;
+	
+	/**
+	 * Max number of attempts in flight at once, a call the pool cannot take runs without hedging
+	 */
+	private int parallelism = 32;
+	
+	private int queueCapacity = 256;
+	
+}
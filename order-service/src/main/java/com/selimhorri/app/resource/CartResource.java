@@ -12,8 +12,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.CartService;
@@ -30,9 +32,17 @@ public class CartResource {
 	private final CartService cartService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<CartDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<CartDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
 		log.info("*** CartDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.findAll()));
+		if (after == null && limit == null) {
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.findAll()));
+		}
+		final int pageLimit = Math.max(1, Math.min((limit != null) ? limit : AppConstant.DEFAULT_PAGE_LIMIT, AppConstant.MAX_PAGE_LIMIT));
+		final var cartDtos = this.cartService.findAll(after, pageLimit);
+		return ResponseEntity.ok(new DtoCollectionResponse<>(cartDtos, (cartDtos.size() == pageLimit) 
+				? String.valueOf(cartDtos.get(cartDtos.size() - 1).getCartId()) : null));
 	}
 	
 	@GetMapping("/{cartId}")
@@ -1,16 +1,27 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.selimhorri.app.config.hedging.HedgedRequestExecutor;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.helper.CartMappingHelper;
 import com.selimhorri.app.repository.CartRepository;
@@ -27,20 +38,25 @@ public class CartServiceImpl implements CartService {
 	
 	private final CartRepository cartRepository;
 	private final RestTemplate restTemplate;
+	private final Cache<Integer, UserDto> userDtoCache;
+	private final HedgedRequestExecutor hedgedRequestExecutor;
 	
 	@Override
 	public List<CartDto> findAll() {
 		log.info("*** CartDto List, service; fetch all carts *");
-		return this.cartRepository.findAll()
+		return this.withUsers(this.cartRepository.findAll()
 				.stream()
 					.map(CartMappingHelper::map)
-					.map(c -> {
-						c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
-						return c;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	public List<CartDto> findAll(final Integer after, final int limit) {
+		log.info("*** CartDto List, service; fetch carts page *");
+		return this.withUsers(this.cartRepository.findAllByCartIdGreaterThanOrderByCartIdAsc((after != null) ? after : 0, PageRequest.of(0, limit))
+				.stream()
+					.map(CartMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()));
 	}
 	
 	@Override
@@ -49,8 +65,9 @@ public class CartServiceImpl implements CartService {
 		return this.cartRepository.findById(cartId)
 				.map(CartMappingHelper::map)
 				.map(c -> {
-					c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
+					c.setUserDto(this.userDtoCache.get(c.getUserDto().getUserId(), userId -> this.hedgedRequestExecutor
+							.execute("USER-SERVICE", () -> this.restTemplate
+									.getForObject(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/" + userId, UserDto.class))));
 					return c;
 				})
 				.orElseThrow(() -> new CartNotFoundException(String
@@ -84,6 +101,42 @@ public class CartServiceImpl implements CartService {
 		this.cartRepository.deleteById(cartId);
 	}
 	
+	private List<CartDto> withUsers(final List<CartDto> cartDtos) {
+		final var userDtos = this.findUsersByIds(cartDtos.stream()
+				.map(CartDto::getUserId)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toUnmodifiableSet()));
+		return cartDtos.stream()
+					.map(c -> {
+						c.setUserDto(userDtos.getOrDefault(c.getUserId(), c.getUserDto()));
+						return c;
+					})
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private Map<Integer, UserDto> findUsersByIds(final Set<Integer> userIds) {
+		return this.userDtoCache.getAll(userIds, this::fetchUsersByIds);
+	}
+	
+	private Map<Integer, UserDto> fetchUsersByIds(final Iterable<? extends Integer> userIds) {
+		final List<Integer> ids = new ArrayList<>();
+		userIds.forEach(ids::add);
+		final Map<Integer, UserDto> userDtos = new HashMap<>(ids.size());
+		for (int from = 0; from < ids.size(); from += AppConstant.REMOTE_LOOKUP_CHUNK_SIZE) {
+			final var chunk = ids.subList(from, Math.min(from + AppConstant.REMOTE_LOOKUP_CHUNK_SIZE, ids.size()));
+			final var response = this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi
+					.USER_SERVICE_API_URL + "?ids=" + chunk.stream()
+							.map(String::valueOf)
+							.collect(Collectors.joining(",")), 
+					HttpMethod.GET, null, new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {}).getBody();
+			if (response != null && response.getCollection() != null) {
+				response.getCollection().forEach(u -> userDtos.put(u.getUserId(), u));
+			}
+		}
+		return userDtos;
+	}
+	
 	
 	
 }
@@ -1,12 +1,17 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 import com.selimhorri.app.helper.OrderMappingHelper;
@@ -23,6 +28,7 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderServiceImpl implements OrderService {
 	
 	private final OrderRepository orderRepository;
+	private final EntityManager entityManager;
 	
 	@Override
 	public List<OrderDto> findAll() {
@@ -34,6 +40,31 @@ public class OrderServiceImpl implements OrderService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public List<OrderDto> findAll(final Integer after, final int limit) {
+		log.info("*** OrderDto List, service; fetch orders page *");
+		return this.orderRepository.findAllByOrderIdGreaterThanOrderByOrderIdAsc((after != null) ? after : 0, PageRequest.of(0, limit))
+				.stream()
+					.map(OrderMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public void streamAll(final Consumer<OrderDto> consumer) {
+		log.info("*** OrderDto Stream, service; stream all orders *");
+		try (final var orders = this.orderRepository.streamAll()) {
+			final var iterator = orders.iterator();
+			int streamed = 0;
+			while (iterator.hasNext()) {
+				consumer.accept(OrderMappingHelper.map(iterator.next()));
+				// already mapped, so drop them from the persistence context to keep memory flat
+				if (++streamed % AppConstant.EXPORT_CLEAR_INTERVAL == 0) {
+					this.entityManager.clear();
+				}
+			}
+		}
+	}
+	
 	@Override
 	public OrderDto findById(final Integer orderId) {
 		log.info("*** OrderDto, service; fetch order by id *");
@@ -43,6 +74,19 @@ public class OrderServiceImpl implements OrderService {
 						.format("Order with id: %d not found", orderId)));
 	}
 	
+	@Override
+	public List<OrderDto> findAllByIds(final Collection<Integer> orderIds) {
+		log.info("*** OrderDto List, service; fetch orders by ids *");
+		if (orderIds == null || orderIds.isEmpty()) {
+			return List.of();
+		}
+		return this.orderRepository.findAllByOrderIdIn(orderIds)
+				.stream()
+					.map(OrderMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public OrderDto save(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; save order *");
@@ -12,8 +12,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.PaymentService;
@@ -30,9 +32,17 @@ public class PaymentResource {
 	private final PaymentService paymentService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
 		log.info("*** PaymentDto List, controller; fetch all payments *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
+		if (after == null && limit == null) {
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
+		}
+		final int pageLimit = Math.max(1, Math.min((limit != null) ? limit : AppConstant.DEFAULT_PAGE_LIMIT, AppConstant.MAX_PAGE_LIMIT));
+		final var paymentDtos = this.paymentService.findAll(after, pageLimit);
+		return ResponseEntity.ok(new DtoCollectionResponse<>(paymentDtos, (paymentDtos.size() == pageLimit) 
+				? String.valueOf(paymentDtos.get(paymentDtos.size() - 1).getPaymentId()) : null));
 	}
 	
 	@GetMapping("/{paymentId}")
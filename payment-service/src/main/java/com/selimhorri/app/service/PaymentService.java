@@ -7,6 +7,7 @@ import com.selimhorri.app.dto.PaymentDto;
 public interface PaymentService {
 	
 	List<PaymentDto> findAll();
+	List<PaymentDto> findAll(final Integer after, final int limit);
 	PaymentDto findById(final Integer paymentId);
 	PaymentDto save(final PaymentDto paymentDto);
 	PaymentDto update(final PaymentDto paymentDto);
@@ -1,16 +1,26 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.config.hedging.HedgedRequestExecutor;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.helper.PaymentMappingHelper;
 import com.selimhorri.app.repository.PaymentRepository;
@@ -27,20 +37,24 @@ public class PaymentServiceImpl implements PaymentService {
 	
 	private final PaymentRepository paymentRepository;
 	private final RestTemplate restTemplate;
+	private final HedgedRequestExecutor hedgedRequestExecutor;
 	
 	@Override
 	public List<PaymentDto> findAll() {
 		log.info("*** PaymentDto List, service; fetch all payments *");
-		return this.paymentRepository.findAll()
+		return this.withOrders(this.paymentRepository.findAll()
 				.stream()
 					.map(PaymentMappingHelper::map)
-					.map(p -> {
-						p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
-						return p;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	public List<PaymentDto> findAll(final Integer after, final int limit) {
+		log.info("*** PaymentDto List, service; fetch payments page *");
+		return this.withOrders(this.paymentRepository.findAllByPaymentIdGreaterThanOrderByPaymentIdAsc((after != null) ? after : 0, PageRequest.of(0, limit))
+				.stream()
+					.map(PaymentMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()));
 	}
 	
 	@Override
@@ -49,8 +63,9 @@ public class PaymentServiceImpl implements PaymentService {
 		return this.paymentRepository.findById(paymentId)
 				.map(PaymentMappingHelper::map)
 				.map(p -> {
-					p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
+					p.setOrderDto(this.hedgedRequestExecutor.execute("ORDER-SERVICE", () -> this.restTemplate
+							.getForObject(AppConstant.DiscoveredDomainsApi
+									.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class)));
 					return p;
 				})
 				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
@@ -76,6 +91,41 @@ public class PaymentServiceImpl implements PaymentService {
 		this.paymentRepository.deleteById(paymentId);
 	}
 	
+	private List<PaymentDto> withOrders(final List<PaymentDto> paymentDtos) {
+		final var orderDtos = this.findOrdersByIds(paymentDtos.stream()
+				.map(PaymentDto::getOrderDto)
+				.filter(Objects::nonNull)
+				.map(OrderDto::getOrderId)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toUnmodifiableSet()));
+		return paymentDtos.stream()
+					.map(p -> {
+						if (p.getOrderDto() != null) {
+							p.setOrderDto(orderDtos.getOrDefault(p.getOrderDto().getOrderId(), p.getOrderDto()));
+						}
+						return p;
+					})
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private Map<Integer, OrderDto> findOrdersByIds(final Set<Integer> orderIds) {
+		final var ids = new ArrayList<>(orderIds);
+		final Map<Integer, OrderDto> orderDtos = new HashMap<>(ids.size());
+		for (int from = 0; from < ids.size(); from += AppConstant.REMOTE_LOOKUP_CHUNK_SIZE) {
+			final var chunk = ids.subList(from, Math.min(from + AppConstant.REMOTE_LOOKUP_CHUNK_SIZE, ids.size()));
+			final var response = this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi
+					.ORDER_SERVICE_API_URL + "?ids=" + chunk.stream()
+							.map(String::valueOf)
+							.collect(Collectors.joining(",")), 
+					HttpMethod.GET, null, new ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>() {}).getBody();
+			if (response != null && response.getCollection() != null) {
+				response.getCollection().forEach(o -> orderDtos.put(o.getOrderId(), o));
+			}
+		}
+		return orderDtos;
+	}
+	
 	
 	
 }
@@ -0,0 +1,76 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InstanceStatsTest {
+	
+	private static final long DECAY = TimeUnit.SECONDS.toNanos(10);
+	private static final double DELTA = 1.0d;
+	
+	private final InstanceStats stats = new InstanceStats("ORDER-SERVICE", "localhost:8300", DECAY, 0L);
+	
+	private void sample(final long startedAt, final long latency) {
+		final Object request = new Object();
+		this.stats.start(request, startedAt);
+		assertEquals(latency, this.stats.complete(request, startedAt + latency, 0L));
+	}
+	
+	private static long millis(final long millis) {
+		return TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+	
+	@Test
+	@DisplayName("Test 1: Peak - A slower sample replaces the average at once")
+	void testComplete_PeakReplaces() {
+		
+		this.sample(0L, millis(100));
+		assertEquals(millis(100), this.stats.latencyNanos(millis(100)), DELTA);
+		
+		this.sample(millis(100), millis(300));
+		assertEquals(millis(300), this.stats.latencyNanos(millis(400)), DELTA);
+	}
+	
+	@Test
+	@DisplayName("Test 2: Idle - Average decays by e per decay period")
+	void testLatencyNanos_DecaysWhileIdle() {
+		
+		this.sample(0L, millis(300));
+		assertEquals(millis(300) / Math.E, this.stats.latencyNanos(millis(300) + DECAY), DELTA);
+		assertEquals(millis(300) / (Math.E * Math.E), this.stats.latencyNanos(millis(300) + 2 * DECAY), DELTA);
+	}
+	
+	@Test
+	@DisplayName("Test 3: Faster sample - Blends between the decayed average and the sample")
+	void testComplete_FasterSampleBlends() {
+		
+		this.sample(0L, millis(300));
+		final long now = millis(300) + DECAY;
+		final double decayed = this.stats.latencyNanos(now);
+		
+		this.sample(now - millis(100), millis(100));
+		final double weight = 1.0d / Math.E;
+		final double blended = this.stats.latencyNanos(now);
+		assertEquals(decayed * weight + millis(100) * (1.0d - weight), blended, DELTA);
+		assertTrue(blended < decayed && blended > millis(100));
+	}
+	
+	@Test
+	@DisplayName("Test 4: Cost - Unsampled instance is charged the penalty per request in flight")
+	void testCost_PenaltyAndQueue() {
+		
+		assertEquals(0.0d, this.stats.cost(0L, millis(50)));
+		this.stats.start(new Object(), 0L);
+		this.stats.start(new Object(), 0L);
+		assertEquals(2.0d * millis(50), this.stats.cost(0L, millis(50)));
+		
+		this.sample(0L, millis(100));
+		assertEquals(3.0d * millis(100), this.stats.cost(millis(100), millis(50)), DELTA);
+	}
+	
+}
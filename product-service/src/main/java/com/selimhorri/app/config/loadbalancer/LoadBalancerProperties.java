@@ -0,0 +1,19 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.load-balancer")
+@Data
+public class LoadBalancerProperties {
+	
+	private boolean enabled = true;
+	private Duration decayTime = Duration.ofSeconds(10);
+	private Duration penalty = Duration.ofSeconds(1);
+	private Duration maxRequestAge = Duration.ofMinutes(1);
+	private Duration idleTimeout = Duration.ofMinutes(10);
+	
+}
@@ -0,0 +1,63 @@
+package com.selimhorri.app.event;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evicts the catalog responses cached by every running api-gateway instance once a product 
+ * or category change is committed, so the gateway ttl only bounds staleness for missed notifications.
+ */
+@Component
+@Slf4j
+public class ResponseCacheEvictionListener {
+	
+	private static final String API_GATEWAY = "API-GATEWAY";
+	private static final String EVICTION_PATH = "/gateway/response-cache/catalog";
+	
+	private final DiscoveryClient discoveryClient;
+	private final RestTemplate restTemplate;
+	private final String evictionSecret;
+	
+	public ResponseCacheEvictionListener(final DiscoveryClient discoveryClient, 
+			@Qualifier("directRestTemplate") final RestTemplate restTemplate, 
+			@Value("${app.response-cache.eviction-secret:}") final String evictionSecret) {
+		this.discoveryClient = discoveryClient;
+		this.restTemplate = restTemplate;
+		this.evictionSecret = evictionSecret;
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCatalogChanged(final CatalogChangedEvent event) {
+		
+		if (this.evictionSecret.isBlank())
+			return;
+		
+		final HttpHeaders headers = new HttpHeaders();
+		headers.set("X-Cache-Eviction-Secret", this.evictionSecret);
+		final HttpEntity<Void> request = new HttpEntity<>(headers);
+		
+		this.discoveryClient.getInstances(API_GATEWAY)
+				.forEach(instance -> {
+					try {
+						this.restTemplate.exchange(instance.getUri() + EVICTION_PATH, HttpMethod.DELETE, request, Boolean.class);
+					}
+					catch (final RestClientException e) {
+						log.warn("*** could not evict cached {} responses at {}: {} *", 
+								event.getResource(), instance.getUri(), e.getMessage());
+					}
+				});
+	}
+	
+	
+	
+}
@@ -1,11 +1,22 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 	
+	@Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.category WHERE p.productId IN :productIds")
+	List<Product> findAllByProductIdIn(@Param("productIds") final Collection<Integer> productIds);
 	
+	@EntityGraph(attributePaths = {"category"})
+	List<Product> findAllByProductIdGreaterThanOrderByProductIdAsc(final Integer productId, final Pageable pageable);
 	
 }
@@ -1,5 +1,8 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+import java.util.Map;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,8 +15,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.ProductService;
@@ -30,9 +35,26 @@ public class ProductResource {
 	private final ProductService productService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll(
+			@RequestParam(name = "after", required = false) final Integer after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
 		log.info("*** ProductDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
+		if (after == null && limit == null) {
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
+		}
+		final int pageLimit = Math.max(1, Math.min((limit != null) ? limit : AppConstant.DEFAULT_PAGE_LIMIT, AppConstant.MAX_PAGE_LIMIT));
+		final var productDtos = this.productService.findAll(after, pageLimit);
+		return ResponseEntity.ok(new DtoCollectionResponse<>(productDtos, (productDtos.size() == pageLimit) 
+				? String.valueOf(productDtos.get(productDtos.size() - 1).getProductId()) : null));
+	}
+	
+	@GetMapping(params = "ids")
+	public ResponseEntity<Map<Integer, ProductDto>> findAllByIds(
+			@RequestParam("ids") 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final List<Integer> productIds) {
+		log.info("*** ProductDto Map, resource; fetch products by ids *");
+		return ResponseEntity.ok(this.productService.findAllByIds(productIds));
 	}
 	
 	@GetMapping("/{productId}")
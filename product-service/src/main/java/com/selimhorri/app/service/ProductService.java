@@ -1,13 +1,17 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import com.selimhorri.app.dto.ProductDto;
 
 public interface ProductService {
 	
 	List<ProductDto> findAll();
+	List<ProductDto> findAll(final Integer after, final int limit);
 	ProductDto findById(final Integer productId);
+	Map<Integer, ProductDto> findAllByIds(final Collection<Integer> productIds);
 	ProductDto save(final ProductDto productDto);
 	ProductDto update(final ProductDto productDto);
 	ProductDto update(final Integer productId, final ProductDto productDto);
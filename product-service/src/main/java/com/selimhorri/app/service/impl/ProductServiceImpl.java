@@ -1,13 +1,19 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.event.CatalogChangedEvent;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.helper.ProductMappingHelper;
 import com.selimhorri.app.repository.ProductRepository;
@@ -23,6 +29,7 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductServiceImpl implements ProductService {
 	
 	private final ProductRepository productRepository;
+	private final ApplicationEventPublisher eventPublisher;
 	
 	@Override
 	public List<ProductDto> findAll() {
@@ -34,6 +41,15 @@ public class ProductServiceImpl implements ProductService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public List<ProductDto> findAll(final Integer after, final int limit) {
+		log.info("*** ProductDto List, service; fetch products page *");
+		return this.productRepository.findAllByProductIdGreaterThanOrderByProductIdAsc((after != null) ? after : 0, PageRequest.of(0, limit))
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public ProductDto findById(final Integer productId) {
 		log.info("*** ProductDto, service; fetch product by id *");
@@ -42,25 +58,43 @@ public class ProductServiceImpl implements ProductService {
 				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
 	}
 	
+	@Override
+	public Map<Integer, ProductDto> findAllByIds(final Collection<Integer> productIds) {
+		log.info("*** ProductDto Map, service; fetch products by ids *");
+		if (productIds == null || productIds.isEmpty()) {
+			return Map.of();
+		}
+		return this.productRepository.findAllByProductIdIn(productIds)
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toUnmodifiableMap(ProductDto::getProductId, Function.identity(), (p1, p2) -> p1));
+	}
+	
 	@Override
 	public ProductDto save(final ProductDto productDto) {
 		log.info("*** ProductDto, service; save product *");
-		return ProductMappingHelper.map(this.productRepository
+		final ProductDto saved = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(productDto)));
+		this.eventPublisher.publishEvent(new CatalogChangedEvent("products"));
+		return saved;
 	}
 	
 	@Override
 	public ProductDto update(final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product *");
-		return ProductMappingHelper.map(this.productRepository
+		final ProductDto saved = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(productDto)));
+		this.eventPublisher.publishEvent(new CatalogChangedEvent("products"));
+		return saved;
 	}
 	
 	@Override
 	public ProductDto update(final Integer productId, final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product with productId *");
-		return ProductMappingHelper.map(this.productRepository
+		final ProductDto saved = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(this.findById(productId))));
+		this.eventPublisher.publishEvent(new CatalogChangedEvent("products"));
+		return saved;
 	}
 	
 	@Override
@@ -68,6 +102,7 @@ public class ProductServiceImpl implements ProductService {
 		log.info("*** Void, service; delete product by id *");
 		this.productRepository.delete(ProductMappingHelper
 				.map(this.findById(productId)));
+		this.eventPublisher.publishEvent(new CatalogChangedEvent("products"));
 	}
 	
 	
@@ -0,0 +1,83 @@
+package com.selimhorri.app.config.deadline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+class DeadlineHttpContextFactoryTest {
+	
+	private static final URI USERS = URI.create("http://USER-SERVICE/user-service/api/users");
+	
+	// the app.http-client defaults
+	private final DeadlineHttpContextFactory contextFactory = new DeadlineHttpContextFactory(RequestConfig.custom()
+			.setConnectTimeout(1000)
+			.setConnectionRequestTimeout(500)
+			.setSocketTimeout(5000)
+			.build());
+	
+	@AfterEach
+	void tearDown() {
+		RequestDeadline.end();
+	}
+	
+	private RequestConfig requestConfig() {
+		return ((HttpClientContext) this.contextFactory.apply(HttpMethod.GET, USERS)).getRequestConfig();
+	}
+	
+	@Test
+	@DisplayName("Test 1: No deadline - The client's own request config applies")
+	void testApply_NoContextWithoutDeadline() {
+		
+		assertFalse(RequestDeadline.isSet());
+		assertNull(this.contextFactory.apply(HttpMethod.GET, USERS));
+	}
+	
+	@Test
+	@DisplayName("Test 2: Short deadline - Every timeout is capped to what is left of it")
+	void testApply_CapsTimeoutsToDeadline() {
+		
+		RequestDeadline.begin(300L);
+		final RequestConfig requestConfig = this.requestConfig();
+		assertTrue(requestConfig.getConnectTimeout() <= 300);
+		assertTrue(requestConfig.getConnectionRequestTimeout() <= 300);
+		assertTrue(requestConfig.getSocketTimeout() <= 300);
+	}
+	
+	@Test
+	@DisplayName("Test 3: Passed deadline - Timeouts bottom out at one millisecond")
+	void testApply_PassedDeadlineUsesMinimalTimeouts() {
+		
+		RequestDeadline.begin(-10L);
+		final RequestConfig requestConfig = this.requestConfig();
+		assertEquals(1, requestConfig.getConnectTimeout());
+		assertEquals(1, requestConfig.getSocketTimeout());
+	}
+	
+	@Test
+	@DisplayName("Test 4: Propagation - A worker runs under the submitter's deadline and is cleared after")
+	void testPropagate_CarriesDeadlineToWorker() throws Exception {
+		
+		RequestDeadline.begin(3000L);
+		final Runnable task = RequestDeadline.propagate(() -> {
+			assertTrue(RequestDeadline.isSet());
+			assertTrue(RequestDeadline.remainingMillis() <= 3000L);
+		});
+		RequestDeadline.end();
+		
+		CompletableFuture.runAsync(task).get(5, TimeUnit.SECONDS);
+		CompletableFuture.runAsync(() -> assertFalse(RequestDeadline.isSet())).get(5, TimeUnit.SECONDS);
+	}
+	
+}
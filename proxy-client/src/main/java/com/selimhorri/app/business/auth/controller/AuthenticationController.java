@@ -1,19 +1,25 @@
 package com.selimhorri.app.business.auth.controller;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.business.auth.model.request.RefreshTokenRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.AuthenticationService;
+import com.selimhorri.app.config.limiter.LoginRateLimitProperties;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,14 +31,59 @@ import lombok.extern.slf4j.Slf4j;
 public class AuthenticationController {
 	
 	private final AuthenticationService authenticationService;
+	private final LoginRateLimitProperties loginRateLimitProperties;
 	
 	@PostMapping
 	public ResponseEntity<AuthenticationResponse> authenticate(
 			@RequestBody 
 			@NotNull(message = "") 
-			@Valid final AuthenticationRequest authenticationRequest) {
+			@Valid final AuthenticationRequest authenticationRequest, 
+			final HttpServletRequest request) {
 		log.info("**Authentication controller, proceed with the request*\n");
-		return ResponseEntity.ok(this.authenticationService.authenticate(authenticationRequest));
+		return ResponseEntity.ok(this.authenticationService.authenticate(authenticationRequest, this.resolveClientAddress(request)));
+	}
+	
+	@PostMapping("/refresh")
+	public ResponseEntity<AuthenticationResponse> refresh(
+			@RequestBody 
+			@NotNull(message = "") 
+			@Valid final RefreshTokenRequest refreshTokenRequest) {
+		log.info("**Authentication controller, proceed with the refresh request*\n");
+		return ResponseEntity.ok(this.authenticationService.refresh(refreshTokenRequest));
+	}
+	
+	@PostMapping("/logout")
+	public ResponseEntity<Boolean> logout(
+			@RequestHeader("Authorization") final String authorization, 
+			@RequestBody(required = false) final RefreshTokenRequest refreshTokenRequest) {
+		log.info("**Authentication controller, proceed with the logout request*\n");
+		final String jwt = (authorization.startsWith("Bearer ")) ? authorization.substring(7) : authorization;
+		return ResponseEntity.ok(this.authenticationService.logout(jwt, refreshTokenRequest));
+	}
+	
+	@PostMapping("/revocations/subjects/{username}")
+	public ResponseEntity<Boolean> revokeSubject(
+			@RequestHeader(name = "X-Revocation-Secret", required = false) final String revocationSecret, 
+			@PathVariable("username") final String username) {
+		log.info("**Authentication controller, proceed with the subject revocation request*\n");
+		return ResponseEntity.ok(this.authenticationService.revokeSubject(revocationSecret, username));
+	}
+	
+	@PostMapping("/revocations/tokens/{tokenId}")
+	public ResponseEntity<Boolean> revokeToken(
+			@RequestHeader(name = "X-Revocation-Secret", required = false) final String revocationSecret, 
+			@PathVariable("tokenId") final String tokenId, 
+			@RequestParam("expiresAt") final Long expiresAtMillis) {
+		log.info("**Authentication controller, proceed with the token revocation request*\n");
+		return ResponseEntity.ok(this.authenticationService.revokeToken(revocationSecret, tokenId, expiresAtMillis));
+	}
+	
+	@DeleteMapping("/revocations/user-details/{userId}")
+	public ResponseEntity<Boolean> evictUserDetails(
+			@RequestHeader(name = "X-Revocation-Secret", required = false) final String revocationSecret, 
+			@PathVariable("userId") final Integer userId) {
+		log.info("**Authentication controller, proceed with the user details eviction request*\n");
+		return ResponseEntity.ok(this.authenticationService.evictUserDetails(revocationSecret, userId));
 	}
 	
 	@GetMapping("/jwt/{jwt}")
@@ -40,6 +91,15 @@ public class AuthenticationController {
 		log.info("**Authentication controller, proceed with the request*\n");
 		return ResponseEntity.ok(this.authenticationService.authenticate(jwt));
 	}
+	private String resolveClientAddress(final HttpServletRequest request) {
+		final String forwardedFor = request.getHeader("X-Forwarded-For");
+		if (!this.loginRateLimitProperties.isTrustForwardedFor() || forwardedFor == null || forwardedFor.isBlank())
+			return request.getRemoteAddr();
+		// the right-most hop is the one appended by our gateway, earlier entries are client supplied
+		final int comma = forwardedFor.lastIndexOf(',');
+		return forwardedFor.substring(comma + 1).trim();
+	}
+	
 	
 	
 	
@@ -0,0 +1,44 @@
+package com.selimhorri.app.business.auth.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.auth.service.UserDetailsCacheService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/cache/user-details")
+@RequiredArgsConstructor
+public class UserDetailsCacheController {
+	
+	private final UserDetailsCacheService userDetailsCacheService;
+	
+	@DeleteMapping("/{username}")
+	public ResponseEntity<Boolean> evict(@PathVariable("username") final String username) {
+		this.userDetailsCacheService.evict(username);
+		return ResponseEntity.ok(true);
+	}
+	
+	@DeleteMapping
+	public ResponseEntity<Boolean> evictAll() {
+		this.userDetailsCacheService.evictAll();
+		return ResponseEntity.ok(true);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,88 @@
+package com.selimhorri.app.business.auth.limiter;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.limiter.LoginRateLimitProperties;
+import com.selimhorri.app.exception.wrapper.LoginRateLimitExceededException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Throttles login attempts per username and per client address before any credential 
+ * is loaded or hashed, so credential stuffing cannot burn BCrypt CPU.
+ */
+@Component
+@Slf4j
+public class LoginRateLimiter {
+	
+	private final LoginRateLimitProperties loginRateLimitProperties;
+	private final SlidingWindowRateLimiter usernameLimiter;
+	private final SlidingWindowRateLimiter addressLimiter;
+	private final Counter permitted;
+	private final Counter throttledByUsername;
+	private final Counter throttledByAddress;
+	
+	public LoginRateLimiter(final LoginRateLimitProperties loginRateLimitProperties, final MeterRegistry meterRegistry) {
+		this.loginRateLimitProperties = loginRateLimitProperties;
+		this.usernameLimiter = new SlidingWindowRateLimiter(loginRateLimitProperties.getWindow(), 
+				loginRateLimitProperties.getMaxAttemptsPerUsername(), loginRateLimitProperties.getMaximumKeys());
+		this.addressLimiter = new SlidingWindowRateLimiter(loginRateLimitProperties.getWindow(), 
+				loginRateLimitProperties.getMaxAttemptsPerIp(), loginRateLimitProperties.getMaximumKeys());
+		this.permitted = meterRegistry.counter("auth.login.attempts", "outcome", "permitted");
+		this.throttledByUsername = meterRegistry.counter("auth.login.attempts", "outcome", "throttled", "scope", "username");
+		this.throttledByAddress = meterRegistry.counter("auth.login.attempts", "outcome", "throttled", "scope", "ip");
+		Gauge.builder("auth.login.limiter.keys", this.usernameLimiter, SlidingWindowRateLimiter::size)
+				.tag("scope", "username")
+				.register(meterRegistry);
+		Gauge.builder("auth.login.limiter.keys", this.addressLimiter, SlidingWindowRateLimiter::size)
+				.tag("scope", "ip")
+				.register(meterRegistry);
+	}
+	
+	public void acquire(final String username, final String clientAddress) {
+		
+		if (!this.loginRateLimitProperties.isEnabled())
+			return;
+		
+		// the address window is checked first so a sprayed username list cannot hide behind per-user budgets
+		if (clientAddress != null) {
+			final long retryAfterNanos = this.addressLimiter.tryAcquire(clientAddress);
+			if (retryAfterNanos > 0) {
+				this.throttledByAddress.increment();
+				log.info("** Login throttled for address {}*\n", clientAddress);
+				throw new LoginRateLimitExceededException("#### Too many login attempts! ####", 
+						Duration.ofNanos(retryAfterNanos));
+			}
+		}
+		
+		if (username != null) {
+			final long retryAfterNanos = this.usernameLimiter.tryAcquire(normalize(username));
+			if (retryAfterNanos > 0) {
+				this.throttledByUsername.increment();
+				log.info("** Login throttled for username {}*\n", username);
+				throw new LoginRateLimitExceededException("#### Too many login attempts! ####", 
+						Duration.ofNanos(retryAfterNanos));
+			}
+		}
+		
+		this.permitted.increment();
+	}
+	
+	public void onSuccess(final String username) {
+		if (username != null)
+			this.usernameLimiter.reset(normalize(username));
+	}
+	
+	private static String normalize(final String username) {
+		return username.trim().toLowerCase(Locale.ROOT);
+	}
+	
+	
+	
+}
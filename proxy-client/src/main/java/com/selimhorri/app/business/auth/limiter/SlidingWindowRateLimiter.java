@@ -0,0 +1,121 @@
+package com.selimhorri.app.business.auth.limiter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Sliding window counter: the previous fixed window is weighted by how much of it still 
+ * overlaps the sliding window, so a key never gets a 2x burst at a window boundary. 
+ * Each key holds an immutable state swapped by CAS, no locks on the hot path.
+ */
+public class SlidingWindowRateLimiter {
+	
+	private final long windowNanos;
+	private final int limit;
+	private final LongSupplier nanoClock;
+	private final Cache<String, AtomicReference<State>> windows;
+	
+	public SlidingWindowRateLimiter(final Duration window, final int limit, final long maximumKeys) {
+		this(window, limit, maximumKeys, System::nanoTime);
+	}
+	
+	SlidingWindowRateLimiter(final Duration window, final int limit, final long maximumKeys, final LongSupplier nanoClock) {
+		this.windowNanos = window.toNanos();
+		this.limit = limit;
+		this.nanoClock = nanoClock;
+		this.windows = Caffeine.newBuilder()
+				.maximumSize(maximumKeys)
+				.expireAfterAccess(window.multipliedBy(2))
+				.build();
+	}
+	
+	/**
+	 * Records an attempt for the given key.
+	 * @return zero when the attempt is permitted, otherwise the nanos to wait before retrying
+	 */
+	public long tryAcquire(final String key) {
+		
+		final AtomicReference<State> reference = this.windows.get(key, k -> new AtomicReference<>(
+				new State(this.windowStart(this.nanoClock.getAsLong()), 0, 0)));
+		
+		while (true) {
+			
+			final long now = this.nanoClock.getAsLong();
+			final State current = reference.get();
+			final State rolled = this.roll(current, now);
+			final long elapsed = now - rolled.windowStart;
+			final double estimate = rolled.previous * (double) (this.windowNanos - elapsed) / this.windowNanos + rolled.current;
+			
+			if (estimate + 1 > this.limit) {
+				if (rolled != current)
+					reference.compareAndSet(current, rolled);
+				return this.retryAfter(rolled, elapsed);
+			}
+			
+			if (reference.compareAndSet(current, new State(rolled.windowStart, rolled.previous, rolled.current + 1)))
+				return 0L;
+		}
+	}
+	
+	public void reset(final String key) {
+		this.windows.invalidate(key);
+	}
+	
+	public long size() {
+		return this.windows.estimatedSize();
+	}
+	
+	private long windowStart(final long now) {
+		return now - Math.floorMod(now, this.windowNanos);
+	}
+	
+	private State roll(final State state, final long now) {
+		final long windows = (now - state.windowStart) / this.windowNanos;
+		if (windows <= 0)
+			return state;
+		return new State(state.windowStart + windows * this.windowNanos, (windows == 1) ? state.current : 0, 0);
+	}
+	
+	private long retryAfter(final State state, final long elapsed) {
+		
+		final int remaining = this.limit - 1 - state.current;
+		
+		// the previous window has to decay enough within the current one
+		if (remaining >= 0 && state.previous > 0) {
+			final long at = ceilDiv(this.windowNanos * (state.previous - remaining), state.previous);
+			return Math.max(1L, at - elapsed);
+		}
+		
+		// the current window is exhausted on its own, it has to become the previous one and decay
+		final long untilNextWindow = this.windowNanos - elapsed;
+		final long decay = (this.limit > 1) ? 
+				ceilDiv(this.windowNanos * (state.current - this.limit + 1), state.current) 
+				: this.windowNanos;
+		return Math.max(1L, untilNextWindow + Math.max(0L, decay));
+	}
+	
+	private static long ceilDiv(final long dividend, final long divisor) {
+		return -Math.floorDiv(-dividend, divisor);
+	}
+	
+	private static final class State {
+		
+		private final long windowStart;
+		private final int previous;
+		private final int current;
+		
+		private State(final long windowStart, final int previous, final int current) {
+			this.windowStart = windowStart;
+			this.previous = previous;
+			this.current = current;
+		}
+		
+	}
+	
+	
+	
+}
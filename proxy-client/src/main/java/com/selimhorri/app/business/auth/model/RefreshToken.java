@@ -0,0 +1,33 @@
+package com.selimhorri.app.business.auth.model;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class RefreshToken implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String username;
+	private String familyId;
+	private Instant expiresAt;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,11 +1,18 @@
 package com.selimhorri.app.business.auth.service;
 
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.business.auth.model.request.RefreshTokenRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 
 public interface AuthenticationService {
 	
 	AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest);
+	AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest, final String clientAddress);
 	Boolean authenticate(final String jwt);
+	AuthenticationResponse refresh(final RefreshTokenRequest refreshTokenRequest);
+	Boolean logout(final String jwt, final RefreshTokenRequest refreshTokenRequest);
+	Boolean revokeSubject(final String revocationSecret, final String username);
+	Boolean revokeToken(final String revocationSecret, final String tokenId, final Long expiresAtMillis);
+	Boolean evictUserDetails(final String revocationSecret, final Integer userId);
 	
 }
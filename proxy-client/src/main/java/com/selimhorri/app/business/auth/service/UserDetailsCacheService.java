@@ -0,0 +1,23 @@
+package com.selimhorri.app.business.auth.service;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+public interface UserDetailsCacheService {
+	
+	UserDetails findByUsername(final String username);
+	void evict(final String username);
+	void evictByCredentialId(final Integer credentialId);
+	void evictByUserId(final Integer userId);
+	void evictAll();
+	
+}
+
+
+
+
+
+
+
+
+
+
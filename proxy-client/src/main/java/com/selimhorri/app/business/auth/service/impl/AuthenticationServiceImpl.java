@@ -1,17 +1,38 @@
 package com.selimhorri.app.business.auth.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.business.auth.limiter.LoginRateLimiter;
+import com.selimhorri.app.business.auth.model.RefreshToken;
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.business.auth.model.request.RefreshTokenRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.AuthenticationService;
+import com.selimhorri.app.business.auth.service.UserDetailsCacheService;
+import com.selimhorri.app.business.auth.store.RefreshTokenStore;
+import com.selimhorri.app.config.jwt.JwtProperties;
 import com.selimhorri.app.exception.wrapper.IllegalAuthenticationCredentialsException;
+import com.selimhorri.app.exception.wrapper.InvalidRefreshTokenException;
+import com.selimhorri.app.jwt.revocation.TokenRevocationBroadcaster;
 import com.selimhorri.app.jwt.service.JwtService;
+import com.selimhorri.app.jwt.service.TokenRevocationService;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,25 +41,41 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class AuthenticationServiceImpl implements AuthenticationService {
 	
+	private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+	
 	private final AuthenticationManager authenticationManager;
 	private final UserDetailsService userDetailsService;
 	private final JwtService jwtService;
+	private final RefreshTokenStore refreshTokenStore;
+	private final JwtProperties jwtProperties;
+	private final TokenRevocationService tokenRevocationService;
+	private final TokenRevocationBroadcaster tokenRevocationBroadcaster;
+	private final UserDetailsCacheService userDetailsCacheService;
+	private final LoginRateLimiter loginRateLimiter;
 	
 	@Override
 	public AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest) {
+		return this.authenticate(authenticationRequest, null);
+	}
+	
+	@Override
+	public AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest, final String clientAddress) {
 		
 		log.info("** AuthenticationResponse, authenticate user service*\n");
 		
+		this.loginRateLimiter.acquire(authenticationRequest.getUsername(), clientAddress);
+		
+		final Authentication authentication;
 		try {
-			this.authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+			authentication = this.authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
 					authenticationRequest.getUsername(), authenticationRequest.getPassword()));
 		}
 		catch (BadCredentialsException e) {
 			throw new IllegalAuthenticationCredentialsException("#### Bad credentials! ####");
 		}
 		
-		return new AuthenticationResponse(this.jwtService.generateToken(this.userDetailsService
-				.loadUserByUsername(authenticationRequest.getUsername())));
+		this.loginRateLimiter.onSuccess(authenticationRequest.getUsername());
+		return this.issueTokens((UserDetails) authentication.getPrincipal(), UUID.randomUUID().toString());
 	}
 	
 	@Override
@@ -46,6 +83,106 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 		return null;
 	}
 	
+	@Override
+	public AuthenticationResponse refresh(final RefreshTokenRequest refreshTokenRequest) {
+		
+		log.info("** AuthenticationResponse, refresh user tokens service*\n");
+		
+		final RefreshToken refreshToken = this.refreshTokenStore.consume(refreshTokenRequest.getRefreshToken())
+				.orElseThrow(() -> new InvalidRefreshTokenException("#### Invalid or expired refresh token! ####"));
+		
+		final UserDetails userDetails;
+		try {
+			userDetails = this.userDetailsService.loadUserByUsername(refreshToken.getUsername());
+		}
+		catch (UsernameNotFoundException e) {
+			throw new InvalidRefreshTokenException("#### Account no longer exists! ####");
+		}
+		
+		if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked() 
+				|| !userDetails.isAccountNonExpired() || !userDetails.isCredentialsNonExpired())
+			throw new InvalidRefreshTokenException("#### Account is no longer active! ####");
+		
+		return this.issueTokens(userDetails, refreshToken.getFamilyId());
+	}
+	
+	@Override
+	public Boolean logout(final String jwt, final RefreshTokenRequest refreshTokenRequest) {
+		
+		log.info("** Boolean, logout user service*\n");
+		
+		final Claims claims;
+		try {
+			claims = this.jwtService.extractAllClaims(jwt);
+		}
+		catch (JwtException | IllegalArgumentException e) {
+			throw new IllegalAuthenticationCredentialsException("#### Invalid token! ####");
+		}
+		
+		this.tokenRevocationService.revokeToken(claims);
+		if (claims.getExpiration() != null)
+			this.tokenRevocationBroadcaster.broadcastToken(claims.getId(), claims.getExpiration().getTime());
+		if (refreshTokenRequest != null && refreshTokenRequest.getRefreshToken() != null)
+			this.refreshTokenStore.consume(refreshTokenRequest.getRefreshToken());
+		return true;
+	}
+	
+	@Override
+	public Boolean revokeSubject(final String revocationSecret, final String username) {
+		
+		log.info("** Boolean, revoke subject tokens service*\n");
+		
+		this.checkRevocationSecret(revocationSecret);
+		this.tokenRevocationService.revokeSubject(username);
+		this.userDetailsCacheService.evict(username);
+		return true;
+	}
+	
+	@Override
+	public Boolean revokeToken(final String revocationSecret, final String tokenId, final Long expiresAtMillis) {
+		
+		log.info("** Boolean, revoke token service*\n");
+		
+		this.checkRevocationSecret(revocationSecret);
+		this.tokenRevocationService.revokeToken(tokenId, expiresAtMillis);
+		return true;
+	}
+	
+	@Override
+	public Boolean evictUserDetails(final String revocationSecret, final Integer userId) {
+		
+		log.info("** Boolean, evict cached user details service*\n");
+		
+		this.checkRevocationSecret(revocationSecret);
+		this.userDetailsCacheService.evictByUserId(userId);
+		return true;
+	}
+	
+	private void checkRevocationSecret(final String revocationSecret) {
+		final String expected = this.jwtProperties.getRevocationSecret();
+		if (expected == null || expected.isBlank() || revocationSecret == null 
+				|| !MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), revocationSecret.getBytes(StandardCharsets.UTF_8)))
+			throw new IllegalAuthenticationCredentialsException("#### Invalid revocation secret! ####");
+	}
+	
+	private AuthenticationResponse issueTokens(final UserDetails userDetails, final String familyId) {
+		
+		final byte[] bytes = new byte[32];
+		SECURE_RANDOM.nextBytes(bytes);
+		final String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		
+		this.refreshTokenStore.save(refreshToken, RefreshToken.builder()
+				.username(userDetails.getUsername())
+				.familyId(familyId)
+				.expiresAt(Instant.now().plus(this.jwtProperties.getRefreshExpiration()))
+				.build());
+		
+		return AuthenticationResponse.builder()
+				.jwtToken(this.jwtService.generateToken(userDetails))
+				.refreshToken(refreshToken)
+				.build();
+	}
+	
 	
 	
 }
@@ -0,0 +1,74 @@
+package com.selimhorri.app.business.auth.service.impl;
+
+import java.util.function.Predicate;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.selimhorri.app.business.auth.service.UserDetailsCacheService;
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class UserDetailsCacheServiceImpl implements UserDetailsCacheService {
+	
+	private final LoadingCache<String, UserDetails> userDetailsCache;
+	
+	@Override
+	public UserDetails findByUsername(final String username) {
+		return this.userDetailsCache.get(username);
+	}
+	
+	@Override
+	public void evict(final String username) {
+		log.info("**UserDetails cache, evict by username*\n");
+		if (username != null)
+			this.userDetailsCache.invalidate(username);
+	}
+	
+	@Override
+	public void evictByCredentialId(final Integer credentialId) {
+		log.info("**UserDetails cache, evict by credentialId*\n");
+		if (credentialId != null)
+			this.evictMatching(credential -> credentialId.equals(credential.getCredentialId()));
+	}
+	
+	@Override
+	public void evictByUserId(final Integer userId) {
+		log.info("**UserDetails cache, evict by userId*\n");
+		if (userId != null)
+			this.evictMatching(credential -> credential.getUserDto() != null 
+					&& userId.equals(credential.getUserDto().getUserId()));
+	}
+	
+	@Override
+	public void evictAll() {
+		log.info("**UserDetails cache, evict all*\n");
+		this.userDetailsCache.invalidateAll();
+	}
+	
+	private void evictMatching(final Predicate<CredentialDto> predicate) {
+		this.userDetailsCache.asMap().values().removeIf(userDetails -> 
+				userDetails instanceof UserDetailsImpl 
+						&& predicate.test(((UserDetailsImpl) userDetails).getCredential()));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,12 +1,14 @@
 package com.selimhorri.app.business.auth.service.impl;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.CredentialAuthDto;
 import com.selimhorri.app.business.user.model.UserDetailsImpl;
 import com.selimhorri.app.constant.AppConstant;
 
@@ -24,7 +26,20 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 	@Override
 	public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
 		log.info("**UserDetails, load user by username*\n");
-		return new UserDetailsImpl(this.restTemplate.getForObject(API_URL + "/username/" + username, CredentialDto.class));
+		final CredentialAuthDto credentialAuthDto;
+		try {
+			credentialAuthDto = this.restTemplate
+					.getForObject(API_URL + "/username/{username}/auth", CredentialAuthDto.class, username);
+		}
+		catch (HttpClientErrorException e) {
+			// user-service answers an unknown username with 400 through its exception handler
+			if (e.getStatusCode() == HttpStatus.BAD_REQUEST || e.getStatusCode() == HttpStatus.NOT_FOUND)
+				throw new UsernameNotFoundException(String.format("User with username: %s not found", username), e);
+			throw e;
+		}
+		if (credentialAuthDto == null)
+			throw new UsernameNotFoundException(String.format("User with username: %s not found", username));
+		return new UserDetailsImpl(credentialAuthDto.toCredentialDto());
 	}
 	
 	
@@ -0,0 +1,29 @@
+package com.selimhorri.app.business.auth.store;
+
+import java.util.Optional;
+
+import com.selimhorri.app.business.auth.model.RefreshToken;
+
+public interface RefreshTokenStore {
+	
+	void save(final String refreshToken, final RefreshToken details);
+	
+	/**
+	 * Single use: the token is removed on the first call. Presenting an already
+	 * consumed token again revokes every token of its family.
+	 */
+	Optional<RefreshToken> consume(final String refreshToken);
+	
+	void revokeSubject(final String username);
+	
+}
+
+
+
+
+
+
+
+
+
+
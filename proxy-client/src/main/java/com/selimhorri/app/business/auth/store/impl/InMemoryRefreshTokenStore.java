@@ -0,0 +1,87 @@
+package com.selimhorri.app.business.auth.store.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.business.auth.model.RefreshToken;
+import com.selimhorri.app.business.auth.store.RefreshTokenStore;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+	
+	private final Cache<String, RefreshToken> activeTokens;
+	private final Cache<String, String> consumedTokens;
+	
+	public InMemoryRefreshTokenStore(final Duration refreshExpiration, final long maximumSize) {
+		this.activeTokens = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(refreshExpiration)
+				.build();
+		this.consumedTokens = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(refreshExpiration)
+				.build();
+	}
+	
+	@Override
+	public void save(final String refreshToken, final RefreshToken details) {
+		this.activeTokens.put(digest(refreshToken), details);
+	}
+	
+	@Override
+	public Optional<RefreshToken> consume(final String refreshToken) {
+		
+		final String key = digest(refreshToken);
+		final RefreshToken details = this.activeTokens.asMap().remove(key);
+		
+		if (details == null) {
+			final String familyId = this.consumedTokens.getIfPresent(key);
+			if (familyId != null) {
+				log.warn("**Refresh token store, reuse of a consumed refresh token, revoking its family*\n");
+				this.activeTokens.asMap().values().removeIf(token -> familyId.equals(token.getFamilyId()));
+			}
+			return Optional.empty();
+		}
+		
+		this.consumedTokens.put(key, details.getFamilyId());
+		return (details.getExpiresAt().isAfter(Instant.now())) ? Optional.of(details) : Optional.empty();
+	}
+	
+	@Override
+	public void revokeSubject(final String username) {
+		this.activeTokens.asMap().values().removeIf(token -> username.equals(token.getUsername()));
+	}
+	
+	private static String digest(final String refreshToken) {
+		try {
+			final byte[] hash = MessageDigest.getInstance("SHA-256")
+					.digest(refreshToken.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
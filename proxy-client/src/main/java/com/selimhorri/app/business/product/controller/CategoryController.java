@@ -25,12 +25,16 @@ public class CategoryController {
 	
 	@GetMapping
 	public ResponseEntity<CategoryProductServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.categoryClientService.findAll().getBody());
+		return ResponseEntity.ok()
+				.cacheControl(ProductController.CATALOG_CACHE_CONTROL)
+				.body(this.categoryClientService.findAll().getBody());
 	}
 	
 	@GetMapping("/{categoryId}")
 	public ResponseEntity<CategoryDto> findById(@PathVariable("categoryId") final String categoryId) {
-		return ResponseEntity.ok(this.categoryClientService.findById(categoryId).getBody());
+		return ResponseEntity.ok()
+				.cacheControl(ProductController.CATALOG_CACHE_CONTROL)
+				.body(this.categoryClientService.findById(categoryId).getBody());
 	}
 	
 	@PostMapping
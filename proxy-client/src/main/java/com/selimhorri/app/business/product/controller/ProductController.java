@@ -1,5 +1,8 @@
 package com.selimhorri.app.business.product.controller;
 
+import java.time.Duration;
+
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,11 +11,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.product.model.ProductDto;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
 import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.config.hedging.HedgedRequestExecutor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,16 +26,30 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ProductController {
 	
+	// shared caches only: the gateway drops its copy on catalog writes, a browser could not
+	static final CacheControl CATALOG_CACHE_CONTROL = CacheControl.empty()
+			.cachePublic()
+			.sMaxAge(Duration.ofSeconds(60));
+	
 	private final ProductClientService productClientService;
+	private final HedgedRequestExecutor hedgedRequestExecutor;
 	
 	@GetMapping
-	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.productClientService.findAll().getBody());
+	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok()
+				.cacheControl(CATALOG_CACHE_CONTROL)
+				.body(this.productClientService.findAll(after, limit).getBody());
 	}
 	
 	@GetMapping("/{productId}")
 	public ResponseEntity<ProductDto> findById(@PathVariable("productId") final String productId) {
-		return ResponseEntity.ok(this.productClientService.findById(productId).getBody());
+		return ResponseEntity.ok()
+				.cacheControl(CATALOG_CACHE_CONTROL)
+				.body(this.hedgedRequestExecutor
+						.execute("PRODUCT-SERVICE", () -> this.productClientService.findById(productId))
+						.getBody());
 	}
 	
 	@PostMapping
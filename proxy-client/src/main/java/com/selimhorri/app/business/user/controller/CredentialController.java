@@ -10,9 +10,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.business.auth.service.UserDetailsCacheService;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.response.CredentialUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.CredentialClientService;
+import com.selimhorri.app.jwt.service.TokenRevocationService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,6 +24,8 @@ import lombok.RequiredArgsConstructor;
 public class CredentialController {
 	
 	private final CredentialClientService credentialClientService;
+	private final UserDetailsCacheService userDetailsCacheService;
+	private final TokenRevocationService tokenRevocationService;
 	
 	@GetMapping
 	public ResponseEntity<CredentialUserServiceCollectionDtoResponse> findAll() {
@@ -45,17 +49,33 @@ public class CredentialController {
 	
 	@PutMapping
 	public ResponseEntity<CredentialDto> update(@RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+		final CredentialDto updated = this.credentialClientService.update(credentialDto).getBody();
+		this.evictUserDetails(credentialDto);
+		return ResponseEntity.ok(updated);
 	}
 	
 	@PutMapping("/{credentialId}")
 	public ResponseEntity<CredentialDto> update(@PathVariable("credentialId") final String credentialId, @RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+		final CredentialDto updated = this.credentialClientService.update(credentialDto).getBody();
+		this.evictUserDetails(credentialDto);
+		this.userDetailsCacheService.evictByCredentialId(Integer.parseInt(credentialId));
+		return ResponseEntity.ok(updated);
 	}
 	
 	@DeleteMapping("/{credentialId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("credentialId") final String credentialId) {
-		return ResponseEntity.ok(this.credentialClientService.deleteById(credentialId).getBody());
+		final CredentialDto existing = this.credentialClientService.findById(credentialId).getBody();
+		final Boolean deleted = this.credentialClientService.deleteById(credentialId).getBody();
+		this.userDetailsCacheService.evictByCredentialId(Integer.parseInt(credentialId));
+		if (existing != null)
+			this.tokenRevocationService.revokeSubject(existing.getUsername());
+		return ResponseEntity.ok(deleted);
+	}
+	
+	private void evictUserDetails(final CredentialDto credentialDto) {
+		this.userDetailsCacheService.evict(credentialDto.getUsername());
+		this.userDetailsCacheService.evictByCredentialId(credentialDto.getCredentialId());
+		this.tokenRevocationService.revokeSubject(credentialDto.getUsername());
 	}
 	
 	
@@ -8,11 +8,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.business.auth.service.UserDetailsCacheService;
 import com.selimhorri.app.business.user.model.UserDto;
 import com.selimhorri.app.business.user.model.response.UserUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.UserClientService;
+import com.selimhorri.app.config.hedging.HedgedRequestExecutor;
+import com.selimhorri.app.jwt.service.TokenRevocationService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,15 +26,22 @@ import lombok.RequiredArgsConstructor;
 public class UserController {
 	
 	private final UserClientService userClientService;
+	private final UserDetailsCacheService userDetailsCacheService;
+	private final TokenRevocationService tokenRevocationService;
+	private final HedgedRequestExecutor hedgedRequestExecutor;
 	
 	@GetMapping
-	public ResponseEntity<UserUserServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.userClientService.findAll().getBody());
+	public ResponseEntity<UserUserServiceCollectionDtoResponse> findAll(
+			@RequestParam(name = "after", required = false) final String after, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.userClientService.findAll(after, limit).getBody());
 	}
 	
 	@GetMapping("/{userId}")
 	public ResponseEntity<UserDto> findById(@PathVariable("userId") final String userId) {
-		return ResponseEntity.ok(this.userClientService.findById(userId).getBody());
+		return ResponseEntity.ok(this.hedgedRequestExecutor
+				.execute("USER-SERVICE", () -> this.userClientService.findById(userId))
+				.getBody());
 	}
 	
 	@GetMapping("/username/{username}")
@@ -45,17 +56,26 @@ public class UserController {
 	
 	@PutMapping
 	public ResponseEntity<UserDto> update(@RequestBody final UserDto userDto) {
-		return ResponseEntity.ok(this.userClientService.update(userDto).getBody());
+		final UserDto updated = this.userClientService.update(userDto).getBody();
+		this.userDetailsCacheService.evictByUserId(userDto.getUserId());
+		return ResponseEntity.ok(updated);
 	}
 	
 	@PutMapping("/{userId}")
 	public ResponseEntity<UserDto> update(@PathVariable("userId") final String userId, @RequestBody final UserDto userDto) {
-		return ResponseEntity.ok(this.userClientService.update(userDto).getBody());
+		final UserDto updated = this.userClientService.update(userDto).getBody();
+		this.userDetailsCacheService.evictByUserId(Integer.parseInt(userId));
+		return ResponseEntity.ok(updated);
 	}
 	
 	@DeleteMapping("/{userId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("userId") final String userId) {
-		return ResponseEntity.ok(this.userClientService.deleteById(userId).getBody());
+		final UserDto existing = this.userClientService.findById(userId).getBody();
+		final Boolean deleted = this.userClientService.deleteById(userId).getBody();
+		this.userDetailsCacheService.evictByUserId(Integer.parseInt(userId));
+		if (existing != null && existing.getCredentialDto() != null)
+			this.tokenRevocationService.revokeSubject(existing.getCredentialDto().getUsername());
+		return ResponseEntity.ok(deleted);
 	}
 	
 	
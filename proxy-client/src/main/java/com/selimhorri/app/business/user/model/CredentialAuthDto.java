@@ -0,0 +1,40 @@
+package com.selimhorri.app.business.user.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CredentialAuthDto {
+	
+	private Integer credentialId;
+	private Integer userId;
+	private String username;
+	private String password;
+	private RoleBasedAuthority roleBasedAuthority;
+	private Boolean isEnabled;
+	private Boolean isAccountNonExpired;
+	private Boolean isAccountNonLocked;
+	private Boolean isCredentialsNonExpired;
+	
+	public CredentialDto toCredentialDto() {
+		return CredentialDto.builder()
+				.credentialId(this.credentialId)
+				.username(this.username)
+				.password(this.password)
+				.roleBasedAuthority(this.roleBasedAuthority)
+				.isEnabled(this.isEnabled)
+				.isAccountNonExpired(this.isAccountNonExpired)
+				.isAccountNonLocked(this.isAccountNonLocked)
+				.isCredentialsNonExpired(this.isCredentialsNonExpired)
+				.userDto(UserDto.builder()
+						.userId(this.userId)
+						.build())
+				.build();
+	}
+	
+}
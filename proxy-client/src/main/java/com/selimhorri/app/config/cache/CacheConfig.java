@@ -0,0 +1,92 @@
+package com.selimhorri.app.config.cache;
+
+import java.util.Date;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Configuration
+@EnableConfigurationProperties({ ClaimsCacheProperties.class, UserDetailsCacheProperties.class })
+public class CacheConfig {
+	
+	@Bean
+	public Cache<String, Claims> verifiedClaimsCache(final ClaimsCacheProperties claimsCacheProperties) {
+		final long maximumTtlNanos = claimsCacheProperties.getMaximumTtl().toNanos();
+		return Caffeine.newBuilder()
+				.maximumSize(claimsCacheProperties.getMaximumSize())
+				.expireAfter(new Expiry<String, Claims>() {
+					
+					@Override
+					public long expireAfterCreate(final String key, final Claims claims, final long currentTime) {
+						final Date expiration = claims.getExpiration();
+						if (expiration == null)
+							return maximumTtlNanos;
+						final long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+						return Math.max(0L, Math.min(maximumTtlNanos, remainingMillis * 1_000_000L));
+					}
+					
+					@Override
+					public long expireAfterUpdate(final String key, final Claims claims, final long currentTime, final long currentDuration) {
+						return this.expireAfterCreate(key, claims, currentTime);
+					}
+					
+					@Override
+					public long expireAfterRead(final String key, final Claims claims, final long currentTime, final long currentDuration) {
+						return currentDuration;
+					}
+					
+				})
+				.recordStats()
+				.build();
+	}
+	
+	@Bean
+	public MeterBinder verifiedClaimsCacheMetrics(final Cache<String, Claims> verifiedClaimsCache) {
+		return registry -> new CaffeineCacheMetrics(verifiedClaimsCache, "verifiedClaimsCache", Tags.empty()).bindTo(registry);
+	}
+	
+	@Bean
+	public LoadingCache<String, UserDetails> userDetailsCache(final UserDetailsCacheProperties userDetailsCacheProperties, 
+			final UserDetailsService userDetailsService) {
+		final Caffeine<Object, Object> builder = Caffeine.newBuilder()
+				.maximumSize(userDetailsCacheProperties.getMaximumSize())
+				.expireAfterWrite(userDetailsCacheProperties.getExpireAfterWrite())
+				.recordStats();
+		// stale-while-revalidate: serve the cached entry while reloading it in the background,
+		// a failed reload keeps the old entry until expireAfterWrite
+		if (userDetailsCacheProperties.getRefreshAfterWrite() != null)
+			builder.refreshAfterWrite(userDetailsCacheProperties.getRefreshAfterWrite());
+		return builder.build(userDetailsService::loadUserByUsername);
+	}
+	
+	@Bean
+	public MeterBinder userDetailsCacheMetrics(final LoadingCache<String, UserDetails> userDetailsCache) {
+		return registry -> new CaffeineCacheMetrics(userDetailsCache, "userDetailsCache", Tags.empty()).bindTo(registry);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,26 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.claims-cache")
+@Data
+public class ClaimsCacheProperties {
+	
+	private long maximumSize = 10_000;
+	private Duration maximumTtl = Duration.ofMinutes(10);
+	
+}
+
+
+
+
+
+
+
+
+
+
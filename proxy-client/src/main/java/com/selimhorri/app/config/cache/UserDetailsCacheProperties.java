@@ -0,0 +1,27 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.user-details-cache")
+@Data
+public class UserDetailsCacheProperties {
+	
+	private long maximumSize = 10_000;
+	private Duration expireAfterWrite = Duration.ofMinutes(5);
+	private Duration refreshAfterWrite = Duration.ofSeconds(30);
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,62 @@
+package com.selimhorri.app.config.deadline;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.exception.wrapper.DeadlineExceededException;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Feign counterpart of {@link RequestDeadlineInterceptor} and {@link DeadlineHttpContextFactory}, applied to
+ * every client. Besides forwarding the remaining budget, it wraps the client so each call runs with its
+ * connect and read timeouts capped to what is left of the deadline.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestDeadlineFeignInterceptor implements RequestInterceptor, Capability {
+	
+	private final MeterRegistry meterRegistry;
+	
+	@Override
+	public void apply(final RequestTemplate template) {
+		
+		if (!RequestDeadline.isSet())
+			return;
+		
+		final long remainingMillis = RequestDeadline.remainingMillis();
+		if (remainingMillis <= 0) {
+			this.meterRegistry.counter("request.deadline.exceeded", "stage", "client").increment();
+			throw new DeadlineExceededException(String
+					.format("Deadline exceeded before calling %s %s", template.method(), template.path()));
+		}
+		template.header(RequestDeadline.HEADER, String.valueOf(remainingMillis));
+	}
+	
+	@Override
+	public Client enrich(final Client client) {
+		return (request, options) -> client.execute(request, capped(options));
+	}
+	
+	private static Request.Options capped(final Request.Options options) {
+		
+		if (!RequestDeadline.isSet())
+			return options;
+		
+		final long remainingMillis = Math.max(1L, RequestDeadline.remainingMillis());
+		return new Request.Options(
+				Math.min(options.connectTimeoutMillis(), remainingMillis), TimeUnit.MILLISECONDS,
+				Math.min(options.readTimeoutMillis(), remainingMillis), TimeUnit.MILLISECONDS,
+				options.isFollowRedirects());
+	}
+	
+	
+	
+}
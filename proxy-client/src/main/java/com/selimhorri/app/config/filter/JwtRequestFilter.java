@@ -10,13 +10,17 @@ import javax.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.selimhorri.app.business.auth.service.UserDetailsCacheService;
+import com.selimhorri.app.config.jwt.JwtProperties;
 import com.selimhorri.app.jwt.service.JwtService;
+import com.selimhorri.app.jwt.service.TokenRevocationService;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,8 +29,10 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 	
-	private final UserDetailsService userDetailsService;
+	private final UserDetailsCacheService userDetailsCacheService;
 	private final JwtService jwtService;
+	private final TokenRevocationService tokenRevocationService;
+	private final JwtProperties jwtProperties;
 	
 	@Override
 	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain) 
@@ -37,18 +43,28 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		final var authorizationHeader = request.getHeader("Authorization");
 		
 		String username = null;
-		String jwt = null;
+		Claims claims = this.jwtService.extractForwardedClaims(request::getHeader);
 		
-		if ( authorizationHeader != null && authorizationHeader.startsWith("Bearer ") ) {
-			jwt = authorizationHeader.substring(7);
-			username = jwtService.extractUsername(jwt);
+		if (claims == null && authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+			try {
+				claims = this.jwtService.extractAllClaims(authorizationHeader.substring(7));
+			}
+			catch (JwtException | IllegalArgumentException e) {
+				log.info("**Rejected bearer token: {}*\n", e.getMessage());
+			}
 		}
 		
-		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+		if (claims != null)
+			username = claims.getSubject();
+		
+		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null 
+				&& !this.tokenRevocationService.isRevoked(claims)) {
 			
-			final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+			final UserDetails userDetails = (this.jwtProperties.isSelfContained() && this.jwtService.isSelfContained(claims)) ? 
+					this.jwtService.extractUserDetails(claims) 
+					: this.userDetailsCacheService.findByUsername(username);
 			
-			if (this.jwtService.validateToken(jwt, userDetails)) {
+			if (this.jwtService.validateToken(claims, userDetails)) {
 				final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
 						new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 				usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
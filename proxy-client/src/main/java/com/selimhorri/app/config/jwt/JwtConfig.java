@@ -0,0 +1,34 @@
+package com.selimhorri.app.config.jwt;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.business.auth.store.RefreshTokenStore;
+import com.selimhorri.app.business.auth.store.impl.InMemoryRefreshTokenStore;
+
+@Configuration
+@EnableConfigurationProperties(JwtProperties.class)
+public class JwtConfig {
+	
+	@Bean
+	@ConditionalOnMissingBean
+	public RefreshTokenStore refreshTokenStore(final JwtProperties jwtProperties) {
+		return new InMemoryRefreshTokenStore(jwtProperties.getRefreshExpiration(), 
+				jwtProperties.getRefreshStoreMaximumSize());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
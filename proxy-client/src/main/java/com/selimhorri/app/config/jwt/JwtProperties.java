@@ -0,0 +1,47 @@
+package com.selimhorri.app.config.jwt;
+
+import java.time.Duration;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.jwt")
+@Validated
+@Data
+public class JwtProperties {
+	
+	/**
+	 * Base64 HS256 key tokens are signed with, shared with the gateway's edge-auth jwt-secret
+	 */
+	@NotBlank
+	private String secret;
+	
+	private boolean selfContained = true;
+	private Duration expiration = Duration.ofMinutes(15);
+	private Duration refreshExpiration = Duration.ofDays(30);
+	private long refreshStoreMaximumSize = 100_000;
+	private long revocationExpectedInsertions = 100_000;
+	private double revocationFalsePositiveRate = 0.001;
+	
+	@Pattern(regexp = "(?!changeit$)(|.*\\S.*)", message = "must not be blank or the changeit placeholder")
+	private String revocationSecret;
+	
+	@Pattern(regexp = "(?!changeit$)(|.*\\S.*)", message = "must not be blank or the changeit placeholder")
+	private String identitySecret;
+	
+}
+
+
+
+
+
+
+
+
+
+
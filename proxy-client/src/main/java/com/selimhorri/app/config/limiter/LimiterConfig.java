@@ -0,0 +1,12 @@
+package com.selimhorri.app.config.limiter;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(LoginRateLimitProperties.class)
+public class LimiterConfig {
+	
+	
+	
+}
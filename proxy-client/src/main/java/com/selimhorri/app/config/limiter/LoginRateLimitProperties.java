@@ -0,0 +1,20 @@
+package com.selimhorri.app.config.limiter;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.login-rate-limit")
+@Data
+public class LoginRateLimitProperties {
+	
+	private boolean enabled = true;
+	private Duration window = Duration.ofMinutes(1);
+	private int maxAttemptsPerUsername = 10;
+	private int maxAttemptsPerIp = 100;
+	private long maximumKeys = 100_000;
+	private boolean trustForwardedFor = true;
+	
+}
@@ -0,0 +1,47 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.load-balancer", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(LoadBalancerProperties.class)
+@LoadBalancerClients(defaultConfiguration = LoadBalancerConfig.PeakEwmaConfiguration.class)
+public class LoadBalancerConfig {
+	
+	@Bean
+	public InstanceStatsRecorder instanceStatsRecorder(final LoadBalancerProperties loadBalancerProperties, 
+			final MeterRegistry meterRegistry) {
+		return new InstanceStatsRecorder(loadBalancerProperties, meterRegistry);
+	}
+	
+	/**
+	 * Registered in every load balancer child context, hence not a {@code @Configuration} 
+	 * so component scanning leaves it alone.
+	 */
+	public static class PeakEwmaConfiguration {
+		
+		@Bean
+		public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(final Environment environment, 
+				final LoadBalancerClientFactory loadBalancerClientFactory, final InstanceStatsRecorder instanceStatsRecorder) {
+			final String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+			return new PeakEwmaLoadBalancer(serviceId, 
+					loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), 
+					instanceStatsRecorder);
+		}
+		
+	}
+	
+	
+	
+}
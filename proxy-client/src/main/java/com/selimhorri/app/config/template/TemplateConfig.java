@@ -1,17 +1,93 @@
 package com.selimhorri.app.config.template;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.config.deadline.DeadlineHttpContextFactory;
+import com.selimhorri.app.config.deadline.RequestDeadlineInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class TemplateConfig {
 	
+	@Bean
+	public PoolingHttpClientConnectionManager httpClientConnectionManager(final HttpClientProperties httpClientProperties) {
+		final var connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(httpClientProperties.getMaxTotal());
+		connectionManager.setDefaultMaxPerRoute(httpClientProperties.getMaxPerRoute());
+		connectionManager.setValidateAfterInactivity((int) httpClientProperties.getValidateAfterInactivity().toMillis());
+		return connectionManager;
+	}
+	
+	@Bean
+	public RequestConfig httpRequestConfig(final HttpClientProperties httpClientProperties) {
+		return RequestConfig.custom()
+				.setConnectTimeout((int) httpClientProperties.getConnectTimeout().toMillis())
+				.setConnectionRequestTimeout((int) httpClientProperties.getConnectionRequestTimeout().toMillis())
+				.setSocketTimeout((int) httpClientProperties.getReadTimeout().toMillis())
+				.build();
+	}
+	
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient httpClient(final PoolingHttpClientConnectionManager httpClientConnectionManager,
+			final RequestConfig httpRequestConfig, final HttpClientProperties httpClientProperties) {
+		
+		final long keepAliveMillis = httpClientProperties.getKeepAlive().toMillis();
+		
+		return HttpClients.custom()
+				.setConnectionManager(httpClientConnectionManager)
+				.setDefaultRequestConfig(httpRequestConfig)
+				.setKeepAliveStrategy((response, context) -> {
+					final long advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+					return (advertised > 0) ? Math.min(advertised, keepAliveMillis) : keepAliveMillis;
+				})
+				.evictExpiredConnections()
+				.evictIdleConnections(httpClientProperties.getIdleEviction().toMillis(), TimeUnit.MILLISECONDS)
+				.build();
+	}
+	
+	@Bean
+	public MeterBinder httpClientPoolMetrics(final PoolingHttpClientConnectionManager httpClientConnectionManager) {
+		return new PoolingHttpClientConnectionManagerMetricsBinder(httpClientConnectionManager, "restTemplate");
+	}
+	
 	@LoadBalanced
+	@Primary
+	@Bean
+	public RestTemplate restTemplateBean(final CloseableHttpClient httpClient, final RequestConfig httpRequestConfig, 
+			final MeterRegistry meterRegistry) {
+		final var requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+		requestFactory.setHttpContextFactory(new DeadlineHttpContextFactory(httpRequestConfig));
+		final var restTemplate = new RestTemplate(requestFactory);
+		restTemplate.getInterceptors().add(new RequestDeadlineInterceptor(meterRegistry));
+		return restTemplate;
+	}
+	
 	@Bean
-	public RestTemplate restTemplateBean() {
-		return new RestTemplate();
+	public RestTemplate directRestTemplate(final RestTemplateBuilder restTemplateBuilder, final CloseableHttpClient httpClient) {
+		return restTemplateBuilder
+				.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+				.setConnectTimeout(Duration.ofSeconds(1))
+				.setReadTimeout(Duration.ofSeconds(2))
+				.build();
 	}
 	
 	
@@ -3,6 +3,7 @@ package com.selimhorri.app.exception;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -13,7 +14,11 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
+import com.selimhorri.app.exception.wrapper.DeadlineExceededException;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
+import com.selimhorri.app.exception.wrapper.IllegalAuthenticationCredentialsException;
+import com.selimhorri.app.exception.wrapper.InvalidRefreshTokenException;
+import com.selimhorri.app.exception.wrapper.LoginRateLimitExceededException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
 
@@ -86,6 +91,59 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = {
+		IllegalAuthenticationCredentialsException.class,
+		InvalidRefreshTokenException.class
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleAuthenticationException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle authentication exception*\n");
+		final var unauthorized = HttpStatus.UNAUTHORIZED;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(unauthorized)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), unauthorized);
+	}
+	
+	@ExceptionHandler(value = LoginRateLimitExceededException.class)
+	public ResponseEntity<ExceptionMsg> handleRateLimitException(final LoginRateLimitExceededException e) {
+		
+		log.info("**ApiExceptionHandler controller, handle rate limit exception*\n");
+		final var tooManyRequests = HttpStatus.TOO_MANY_REQUESTS;
+		final var headers = new HttpHeaders();
+		if (e.getRetryAfter() != null)
+			headers.set(HttpHeaders.RETRY_AFTER, 
+					String.valueOf(Math.max(1L, (e.getRetryAfter().toMillis() + 999) / 1000)));
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(tooManyRequests)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), headers, tooManyRequests);
+	}
+	
+	
+	@ExceptionHandler(value = DeadlineExceededException.class)
+	public ResponseEntity<ExceptionMsg> handleDeadlineExceededException(final DeadlineExceededException e) {
+		
+		log.info("**ApiExceptionHandler controller, handle deadline exceeded exception*\n");
+		final var gatewayTimeout = HttpStatus.GATEWAY_TIMEOUT;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(gatewayTimeout)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), gatewayTimeout);
+	}
+	
 	
 	
 }
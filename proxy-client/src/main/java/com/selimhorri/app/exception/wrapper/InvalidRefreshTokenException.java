@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public InvalidRefreshTokenException() {
+		super();
+	}
+	
+	public InvalidRefreshTokenException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public InvalidRefreshTokenException(String message) {
+		super(message);
+	}
+	
+	public InvalidRefreshTokenException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
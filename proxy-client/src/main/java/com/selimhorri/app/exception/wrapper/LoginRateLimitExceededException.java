@@ -0,0 +1,42 @@
+package com.selimhorri.app.exception.wrapper;
+
+import java.time.Duration;
+
+public class LoginRateLimitExceededException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private final Duration retryAfter;
+	
+	public LoginRateLimitExceededException() {
+		super();
+		this.retryAfter = null;
+	}
+	
+	public LoginRateLimitExceededException(String message, Throwable cause) {
+		super(message, cause);
+		this.retryAfter = null;
+	}
+	
+	public LoginRateLimitExceededException(String message) {
+		super(message);
+		this.retryAfter = null;
+	}
+	
+	public LoginRateLimitExceededException(Throwable cause) {
+		super(cause);
+		this.retryAfter = null;
+	}
+	
+	public LoginRateLimitExceededException(String message, Duration retryAfter) {
+		super(message);
+		this.retryAfter = retryAfter;
+	}
+	
+	public Duration getRetryAfter() {
+		return this.retryAfter;
+	}
+	
+	
+	
+}
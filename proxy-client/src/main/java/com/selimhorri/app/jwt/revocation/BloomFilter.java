@@ -0,0 +1,92 @@
+package com.selimhorri.app.jwt.revocation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over pre-hashed (namespace, key) pairs: bits are set with CAS, 
+ * lookups are plain volatile reads, nothing is ever removed. The bit count is a power of two 
+ * so probes are masked instead of divided.
+ */
+final class BloomFilter {
+	
+	private final AtomicLongArray words;
+	private final long numBits;
+	private final long bitMask;
+	private final int numHashes;
+	private final AtomicLong bitCount = new AtomicLong();
+	
+	BloomFilter(final long expectedInsertions, final double falsePositiveRate) {
+		final long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		final long numBits = Math.max(64L, Long.highestOneBit(Math.max(1L, optimalBits - 1)) << 1);
+		this.words = new AtomicLongArray((int) (numBits >>> 6));
+		this.numBits = numBits;
+		this.bitMask = numBits - 1;
+		this.numHashes = Math.max(1, (int) Math.round((double) this.numBits / expectedInsertions * Math.log(2)));
+	}
+	
+	void put(final long hash) {
+		final long hash2 = hash >>> 32 | 1L;
+		for (int i = 0; i < this.numHashes; i++)
+			this.setBit((hash + i * hash2) & this.bitMask);
+	}
+	
+	boolean mightContain(final long hash) {
+		final long hash2 = hash >>> 32 | 1L;
+		for (int i = 0; i < this.numHashes; i++) {
+			final long bit = (hash + i * hash2) & this.bitMask;
+			if ((this.words.get((int) (bit >>> 6)) & (1L << bit)) == 0)
+				return false;
+		}
+		return true;
+	}
+	
+	double fillRatio() {
+		return (double) this.bitCount.get() / this.numBits;
+	}
+	
+	double expectedFalsePositiveRate() {
+		return Math.pow(this.fillRatio(), this.numHashes);
+	}
+	
+	private void setBit(final long bit) {
+		final int index = (int) (bit >>> 6);
+		final long mask = 1L << bit;
+		long word;
+		do {
+			word = this.words.get(index);
+			if ((word & mask) != 0)
+				return;
+		} while (!this.words.compareAndSet(index, word, word | mask));
+		this.bitCount.incrementAndGet();
+	}
+	
+	/**
+	 * FNV-1a over the namespace and the key chars, finished with the murmur3 64-bit mix.
+	 */
+	static long hash(final char namespace, final String key) {
+		long hash = 0xcbf29ce484222325L;
+		hash = (hash ^ namespace) * 0x100000001b3L;
+		for (int i = 0; i < key.length(); i++)
+			hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
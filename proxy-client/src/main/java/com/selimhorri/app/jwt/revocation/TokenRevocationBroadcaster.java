@@ -0,0 +1,72 @@
+package com.selimhorri.app.jwt.revocation;
+
+import java.util.Objects;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.config.jwt.JwtProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replays a token revocation on every other running proxy-client instance, so a logged out token
+ * is refused whichever instance serves it next. Each instance must be called directly, hence no
+ * load balancing here. Without a revocation secret the peers would refuse the call, so revocations stay local.
+ */
+@Component
+@Slf4j
+public class TokenRevocationBroadcaster {
+	
+	private static final String PROXY_CLIENT = "PROXY-CLIENT";
+	private static final String REVOCATION_PATH = "/app/api/authenticate/revocations/tokens/";
+	
+	private final DiscoveryClient discoveryClient;
+	private final RestTemplate restTemplate;
+	private final JwtProperties jwtProperties;
+	private final ObjectProvider<Registration> registration;
+	
+	public TokenRevocationBroadcaster(final DiscoveryClient discoveryClient, 
+			@Qualifier("directRestTemplate") final RestTemplate restTemplate, 
+			final JwtProperties jwtProperties, final ObjectProvider<Registration> registration) {
+		this.discoveryClient = discoveryClient;
+		this.restTemplate = restTemplate;
+		this.jwtProperties = jwtProperties;
+		this.registration = registration;
+	}
+	
+	public void broadcastToken(final String tokenId, final long expiresAtMillis) {
+		
+		final String revocationSecret = this.jwtProperties.getRevocationSecret();
+		if (tokenId == null || !StringUtils.hasLength(revocationSecret))
+			return;
+		
+		final HttpHeaders headers = new HttpHeaders();
+		headers.set("X-Revocation-Secret", revocationSecret);
+		final HttpEntity<Void> request = new HttpEntity<>(headers);
+		final Registration self = this.registration.getIfAvailable();
+		
+		this.discoveryClient.getInstances(PROXY_CLIENT).stream()
+				.filter(instance -> self == null || !Objects.equals(self.getInstanceId(), instance.getInstanceId()))
+				.forEach(instance -> {
+					try {
+						this.restTemplate.postForObject(instance.getUri() + REVOCATION_PATH + tokenId 
+								+ "?expiresAt=" + expiresAtMillis, request, Boolean.class);
+					}
+					catch (final RestClientException e) {
+						log.warn("*** could not revoke token {} at {}: {} *", tokenId, instance.getUri(), e.getMessage());
+					}
+				});
+	}
+	
+	
+	
+}
@@ -0,0 +1,196 @@
+package com.selimhorri.app.jwt.revocation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.selimhorri.app.config.jwt.JwtProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Revoked token ids and per-subject "not before" marks. A Bloom filter answers the common 
+ * "not revoked" case without touching the exact entries, which are only consulted on filter hits 
+ * and expire with the tokens they cover. Since a Bloom filter cannot forget, two generations 
+ * are kept and rotated at most once per token lifetime, so any entry stays in the filter at least that long.
+ */
+@Component
+public class TokenRevocationRegistry {
+	
+	private static final char TOKEN_NAMESPACE = 'j';
+	private static final char SUBJECT_NAMESPACE = 's';
+	
+	private final long generationMillis;
+	private final long expectedInsertions;
+	private final double falsePositiveRate;
+	private final AtomicReference<Generations> generations;
+	private final Cache<String, Entry> entries;
+	private final Counter hits;
+	private final Counter falsePositives;
+	private final LongSupplier millisClock;
+	
+	@Autowired
+	public TokenRevocationRegistry(final JwtProperties jwtProperties, final MeterRegistry meterRegistry) {
+		this(jwtProperties, meterRegistry, System::currentTimeMillis);
+	}
+	
+	TokenRevocationRegistry(final JwtProperties jwtProperties, final MeterRegistry meterRegistry, final LongSupplier millisClock) {
+		this.millisClock = millisClock;
+		this.generationMillis = jwtProperties.getExpiration().toMillis();
+		this.expectedInsertions = jwtProperties.getRevocationExpectedInsertions();
+		this.falsePositiveRate = jwtProperties.getRevocationFalsePositiveRate();
+		this.generations = new AtomicReference<>(new Generations(this.newFilter(), this.newFilter(), 
+				millisClock.getAsLong() + this.generationMillis));
+		this.entries = Caffeine.newBuilder()
+				.expireAfter(new Expiry<String, Entry>() {
+					
+					@Override
+					public long expireAfterCreate(final String key, final Entry entry, final long currentTime) {
+						return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, entry.expiresAtMillis - millisClock.getAsLong()));
+					}
+					
+					@Override
+					public long expireAfterUpdate(final String key, final Entry entry, final long currentTime, final long currentDuration) {
+						return this.expireAfterCreate(key, entry, currentTime);
+					}
+					
+					@Override
+					public long expireAfterRead(final String key, final Entry entry, final long currentTime, final long currentDuration) {
+						return currentDuration;
+					}
+					
+				})
+				.build();
+		
+		this.hits = Counter.builder("jwt.revocation.hits")
+				.description("Revocation checks that found a revoked token")
+				.register(meterRegistry);
+		this.falsePositives = Counter.builder("jwt.revocation.bloom.false.positives")
+				.description("Bloom filter hits not backed by a revocation entry")
+				.register(meterRegistry);
+		Gauge.builder("jwt.revocation.entries", this.entries, Cache::estimatedSize)
+				.description("Live revocation entries")
+				.register(meterRegistry);
+		Gauge.builder("jwt.revocation.bloom.fill.ratio", this, registry -> registry.currentFilter().fillRatio())
+				.register(meterRegistry);
+		Gauge.builder("jwt.revocation.bloom.expected.fpp", this, registry -> registry.currentFilter().expectedFalsePositiveRate())
+				.register(meterRegistry);
+	}
+	
+	public void revokeToken(final String tokenId, final long expiresAtMillis) {
+		this.put(TOKEN_NAMESPACE, tokenId, 0L, expiresAtMillis);
+	}
+	
+	public boolean isTokenRevoked(final String tokenId) {
+		return this.lookup(TOKEN_NAMESPACE, tokenId) != null;
+	}
+	
+	public void revokeSubject(final String subject, final long notBeforeEpochSecond, final long expiresAtMillis) {
+		this.entries.asMap().merge(key(SUBJECT_NAMESPACE, subject), new Entry(notBeforeEpochSecond, expiresAtMillis), 
+				(previous, next) -> (previous.value > next.value) ? previous : next);
+		this.currentGenerations().current.put(BloomFilter.hash(SUBJECT_NAMESPACE, subject));
+	}
+	
+	/**
+	 * @return epoch second at or before which tokens of the subject are revoked, null if none
+	 */
+	public Long subjectNotBefore(final String subject) {
+		final Entry entry = this.lookup(SUBJECT_NAMESPACE, subject);
+		return (entry != null) ? entry.value : null;
+	}
+	
+	private void put(final char namespace, final String key, final long value, final long expiresAtMillis) {
+		this.entries.put(key(namespace, key), new Entry(value, expiresAtMillis));
+		this.currentGenerations().current.put(BloomFilter.hash(namespace, key));
+	}
+	
+	private Entry lookup(final char namespace, final String key) {
+		
+		if (key == null)
+			return null;
+		
+		final long hash = BloomFilter.hash(namespace, key);
+		final Generations generations = this.generations.get();
+		if (!generations.current.mightContain(hash) && !generations.previous.mightContain(hash))
+			return null;
+		
+		final Entry entry = this.entries.getIfPresent(key(namespace, key));
+		if (entry == null)
+			this.falsePositives.increment();
+		else
+			this.hits.increment();
+		return entry;
+	}
+	
+	/**
+	 * Rotation happens on writes only, keeping the clock off the lookup path; 
+	 * with no writes a filter simply lives longer, which never hides an entry.
+	 */
+	private Generations currentGenerations() {
+		final Generations generations = this.generations.get();
+		final long now = this.millisClock.getAsLong();
+		if (now < generations.rotateAtMillis)
+			return generations;
+		final Generations rotated = new Generations(this.newFilter(), generations.current, now + this.generationMillis);
+		return this.generations.compareAndSet(generations, rotated) ? rotated : this.generations.get();
+	}
+	
+	private BloomFilter currentFilter() {
+		return this.generations.get().current;
+	}
+	
+	private BloomFilter newFilter() {
+		return new BloomFilter(this.expectedInsertions, this.falsePositiveRate);
+	}
+	
+	private static String key(final char namespace, final String key) {
+		return namespace + ":" + key;
+	}
+	
+	private static final class Generations {
+		
+		private final BloomFilter current;
+		private final BloomFilter previous;
+		private final long rotateAtMillis;
+		
+		private Generations(final BloomFilter current, final BloomFilter previous, final long rotateAtMillis) {
+			this.current = current;
+			this.previous = previous;
+			this.rotateAtMillis = rotateAtMillis;
+		}
+		
+	}
+	
+	private static final class Entry {
+		
+		private final long value;
+		private final long expiresAtMillis;
+		
+		private Entry(final long value, final long expiresAtMillis) {
+			this.value = value;
+			this.expiresAtMillis = expiresAtMillis;
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -12,8 +12,13 @@ public interface JwtService {
 	String extractUsername(final String token);
 	Date extractExpiration(final String token);
 	<T> T extractClaims(final String token, final Function<Claims, T> claimsResolver);
+	Claims extractAllClaims(final String token);
+	Claims extractForwardedClaims(final Function<String, String> identityHeaders);
+	Boolean isSelfContained(final Claims claims);
+	UserDetails extractUserDetails(final Claims claims);
 	String generateToken(final UserDetails userDetails);
 	Boolean validateToken(final String token, final UserDetails userDetails);
+	Boolean validateToken(final Claims claims, final UserDetails userDetails);
 	
 }
 
@@ -0,0 +1,22 @@
+package com.selimhorri.app.jwt.service;
+
+import io.jsonwebtoken.Claims;
+
+public interface TokenRevocationService {
+	
+	void revokeToken(final Claims claims);
+	void revokeToken(final String tokenId, final long expiresAtMillis);
+	void revokeSubject(final String username);
+	boolean isRevoked(final Claims claims);
+	
+}
+
+
+
+
+
+
+
+
+
+
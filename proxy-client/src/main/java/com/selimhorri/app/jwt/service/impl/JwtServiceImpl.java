@@ -38,6 +38,28 @@ public class JwtServiceImpl implements JwtService {
 		return this.jwtUtil.extractClaims(token, claimsResolver);
 	}
 	
+	@Override
+	public Claims extractAllClaims(final String token) {
+		log.info("**Claims, jwt service extract all verified claims from given token!*");
+		return this.jwtUtil.extractAllClaims(token);
+	}
+	
+	@Override
+	public Claims extractForwardedClaims(final Function<String, String> identityHeaders) {
+		return this.jwtUtil.extractForwardedClaims(identityHeaders);
+	}
+	
+	@Override
+	public Boolean isSelfContained(final Claims claims) {
+		return this.jwtUtil.isSelfContained(claims);
+	}
+	
+	@Override
+	public UserDetails extractUserDetails(final Claims claims) {
+		log.info("**UserDetails, jwt service extract userDetails from given verified claims!*");
+		return this.jwtUtil.extractUserDetails(claims);
+	}
+	
 	@Override
 	public String generateToken(final UserDetails userDetails) {
 		log.info("**String, jwt service generate token from given userDetails!*");
@@ -50,6 +72,12 @@ public class JwtServiceImpl implements JwtService {
 		return this.jwtUtil.validateToken(token, userDetails);
 	}
 	
+	@Override
+	public Boolean validateToken(final Claims claims, final UserDetails userDetails) {
+		log.info("**Boolean, jwt service validate token from given verified claims and userDetails!*");
+		return this.jwtUtil.validateToken(claims, userDetails);
+	}
+	
 	
 	
 }
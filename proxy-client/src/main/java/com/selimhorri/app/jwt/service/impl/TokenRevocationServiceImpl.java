@@ -0,0 +1,78 @@
+package com.selimhorri.app.jwt.service.impl;
+
+import java.time.Instant;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.auth.store.RefreshTokenStore;
+import com.selimhorri.app.config.jwt.JwtProperties;
+import com.selimhorri.app.jwt.revocation.TokenRevocationRegistry;
+import com.selimhorri.app.jwt.service.TokenRevocationService;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+	
+	private final TokenRevocationRegistry tokenRevocationRegistry;
+	private final RefreshTokenStore refreshTokenStore;
+	private final JwtProperties jwtProperties;
+	
+	@Override
+	public void revokeToken(final Claims claims) {
+		if (claims.getId() == null || claims.getExpiration() == null)
+			return;
+		this.revokeToken(claims.getId(), claims.getExpiration().getTime());
+	}
+	
+	@Override
+	public void revokeToken(final String tokenId, final long expiresAtMillis) {
+		if (tokenId == null)
+			return;
+		log.info("**Token revocation service, revoke given token until its expiry!*");
+		// no token outlives the configured expiration, a longer claim would only pin memory
+		this.tokenRevocationRegistry.revokeToken(tokenId, Math.min(expiresAtMillis, 
+				Instant.now().plus(this.jwtProperties.getExpiration()).toEpochMilli()));
+	}
+	
+	@Override
+	public void revokeSubject(final String username) {
+		if (username == null)
+			return;
+		log.info("**Token revocation service, revoke tokens issued so far for given subject!*");
+		final Instant now = Instant.now();
+		this.tokenRevocationRegistry.revokeSubject(username, now.getEpochSecond(), 
+				now.plus(this.jwtProperties.getExpiration()).toEpochMilli());
+		this.refreshTokenStore.revokeSubject(username);
+	}
+	
+	@Override
+	public boolean isRevoked(final Claims claims) {
+		
+		if (this.tokenRevocationRegistry.isTokenRevoked(claims.getId()))
+			return true;
+		
+		final Long notBefore = this.tokenRevocationRegistry.subjectNotBefore(claims.getSubject());
+		if (notBefore == null)
+			return false;
+		// iat has second precision, a token minted in the revocation second is rejected too
+		return claims.getIssuedAt() == null || claims.getIssuedAt().getTime() / 1000 <= notBefore;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,23 +1,56 @@
 package com.selimhorri.app.jwt.util.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.selimhorri.app.config.jwt.JwtProperties;
+import com.selimhorri.app.constant.AppConstant.IdentityHeaders;
+import com.selimhorri.app.helper.IdentitySignatureHelper;
 import com.selimhorri.app.jwt.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.jsonwebtoken.impl.TextCodec;
 
 @Component
 public class JwtUtilImpl implements JwtUtil {
 	
-	private static final String SECRET_KEY = "secret";
+	private static final String ROLES_CLAIM = "roles";
+	private static final String ENABLED_CLAIM = "enabled";
+	private static final String ACCOUNT_NON_EXPIRED_CLAIM = "accountNonExpired";
+	private static final String ACCOUNT_NON_LOCKED_CLAIM = "accountNonLocked";
+	private static final String CREDENTIALS_NON_EXPIRED_CLAIM = "credentialsNonExpired";
+	
+	private final Cache<String, Claims> verifiedClaimsCache;
+	private final JwtProperties jwtProperties;
+	private final Key signingKey;
+	
+	public JwtUtilImpl(final Cache<String, Claims> verifiedClaimsCache, final JwtProperties jwtProperties) {
+		this.verifiedClaimsCache = verifiedClaimsCache;
+		this.jwtProperties = jwtProperties;
+		this.signingKey = new SecretKeySpec(TextCodec.BASE64.decode(jwtProperties.getSecret()), 
+				SignatureAlgorithm.HS256.getJcaName());
+	}
 	
 	@Override
 	public String extractUsername(final String token) {
@@ -35,38 +68,126 @@ public class JwtUtilImpl implements JwtUtil {
 		return claimsResolver.apply(claims);
 	}
 	
-	private Claims extractAllClaims(final String token) {
-		return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+	@Override
+	public Claims extractAllClaims(final String token) {
+		return this.verifiedClaimsCache.get(digest(token), key -> this.parseClaims(token));
 	}
 	
-	private Boolean isTokenExpired(final String token) {
-		return this.extractExpiration(token).before(new Date());
+	@Override
+	public Claims extractForwardedClaims(final Function<String, String> identityHeaders) {
+		
+		final String subject = identityHeaders.apply(IdentityHeaders.SUBJECT);
+		final String signature = identityHeaders.apply(IdentityHeaders.SIGNATURE);
+		if (subject == null || signature == null || !StringUtils.hasLength(this.jwtProperties.getIdentitySecret()))
+			return null;
+		
+		final String tokenId = identityHeaders.apply(IdentityHeaders.TOKEN_ID);
+		final String issuedAt = identityHeaders.apply(IdentityHeaders.ISSUED_AT);
+		final String expiresAt = identityHeaders.apply(IdentityHeaders.EXPIRES_AT);
+		final String roles = identityHeaders.apply(IdentityHeaders.ROLES);
+		final String accountStatus = identityHeaders.apply(IdentityHeaders.ACCOUNT_STATUS);
+		if (expiresAt == null || !IdentitySignatureHelper.verify(
+				this.jwtProperties.getIdentitySecret().getBytes(StandardCharsets.UTF_8), 
+				IdentitySignatureHelper.canonicalize(subject, tokenId, issuedAt, expiresAt, roles, accountStatus), 
+				signature))
+			return null;
+		
+		final Claims claims = new DefaultClaims()
+				.setSubject(subject)
+				.setId(tokenId)
+				.setExpiration(new Date(Long.parseLong(expiresAt) * 1000));
+		if (issuedAt != null)
+			claims.setIssuedAt(new Date(Long.parseLong(issuedAt) * 1000));
+		if (roles != null && accountStatus != null && accountStatus.length() == 4) {
+			claims.put(ROLES_CLAIM, (roles.isEmpty()) ? List.of() : List.of(roles.split(",")));
+			claims.put(ENABLED_CLAIM, accountStatus.charAt(0) == '1');
+			claims.put(ACCOUNT_NON_EXPIRED_CLAIM, accountStatus.charAt(1) == '1');
+			claims.put(ACCOUNT_NON_LOCKED_CLAIM, accountStatus.charAt(2) == '1');
+			claims.put(CREDENTIALS_NON_EXPIRED_CLAIM, accountStatus.charAt(3) == '1');
+		}
+		return claims;
+	}
+	
+	@Override
+	public Boolean isSelfContained(final Claims claims) {
+		return claims.containsKey(ROLES_CLAIM);
+	}
+	
+	@Override
+	public UserDetails extractUserDetails(final Claims claims) {
+		final List<?> roles = claims.get(ROLES_CLAIM, List.class);
+		return User.withUsername(claims.getSubject())
+				.password("")
+				.authorities(roles.stream()
+						.map(String::valueOf)
+						.toArray(String[]::new))
+				.disabled(!Boolean.TRUE.equals(claims.get(ENABLED_CLAIM, Boolean.class)))
+				.accountExpired(!Boolean.TRUE.equals(claims.get(ACCOUNT_NON_EXPIRED_CLAIM, Boolean.class)))
+				.accountLocked(!Boolean.TRUE.equals(claims.get(ACCOUNT_NON_LOCKED_CLAIM, Boolean.class)))
+				.credentialsExpired(!Boolean.TRUE.equals(claims.get(CREDENTIALS_NON_EXPIRED_CLAIM, Boolean.class)))
+				.build();
+	}
+	
+	private Claims parseClaims(final String token) {
+		return Jwts.parser().setSigningKey(this.signingKey).parseClaimsJws(token).getBody();
+	}
+	
+	private Boolean isTokenExpired(final Claims claims) {
+		return claims.getExpiration().before(new Date());
 	}
 	
 	@Override
 	public String generateToken(final UserDetails userDetails) {
 		final Map<String, Object> claims = new HashMap<>();
+		if (this.jwtProperties.isSelfContained()) {
+			claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream()
+					.map(GrantedAuthority::getAuthority)
+					.toArray(String[]::new));
+			claims.put(ENABLED_CLAIM, userDetails.isEnabled());
+			claims.put(ACCOUNT_NON_EXPIRED_CLAIM, userDetails.isAccountNonExpired());
+			claims.put(ACCOUNT_NON_LOCKED_CLAIM, userDetails.isAccountNonLocked());
+			claims.put(CREDENTIALS_NON_EXPIRED_CLAIM, userDetails.isCredentialsNonExpired());
+		}
 		return this.createToken(claims, userDetails.getUsername());
 	}
 	
 	private String createToken(final Map<String, Object> claims, final String subject) {
+		final long now = System.currentTimeMillis();
 		return Jwts.builder()
 					.setClaims(claims)
+					.setId(UUID.randomUUID().toString())
 					.setSubject(subject)
-					.setIssuedAt(new Date(System.currentTimeMillis()))
-					.setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
-					.signWith(SignatureAlgorithm.HS256, SECRET_KEY)
+					.setIssuedAt(new Date(now))
+					.setExpiration(new Date(now + this.jwtProperties.getExpiration().toMillis()))
+					.signWith(SignatureAlgorithm.HS256, this.signingKey)
 		.compact();
 	}
 	
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
-		final String username = this.extractUsername(token);
+		return this.validateToken(this.extractAllClaims(token), userDetails);
+	}
+	
+	@Override
+	public Boolean validateToken(final Claims claims, final UserDetails userDetails) {
 		return (
-			username.equals(userDetails.getUsername()) && !isTokenExpired(token)
+			claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims) 
+					&& userDetails.isEnabled() && userDetails.isAccountNonLocked() 
+					&& userDetails.isAccountNonExpired() && userDetails.isCredentialsNonExpired()
 		);
 	}
 	
+	private static String digest(final String token) {
+		try {
+			final byte[] hash = MessageDigest.getInstance("SHA-256")
+					.digest(token.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
 	
 	
 }
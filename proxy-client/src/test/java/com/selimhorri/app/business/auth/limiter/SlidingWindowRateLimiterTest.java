@@ -0,0 +1,82 @@
+package com.selimhorri.app.business.auth.limiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowRateLimiterTest {
+	
+	private static final long WINDOW = TimeUnit.SECONDS.toNanos(60);
+	
+	private final AtomicLong clock = new AtomicLong();
+	private final SlidingWindowRateLimiter limiter =
+			new SlidingWindowRateLimiter(Duration.ofNanos(WINDOW), 3, 100, this.clock::get);
+	
+	@Test
+	@DisplayName("Test 1: Exhausted window - Retry-after is exactly when the next attempt fits")
+	void testTryAcquire_RetryAfterCurrentWindow() {
+		
+		assertEquals(0L, this.limiter.tryAcquire("alice"));
+		assertEquals(0L, this.limiter.tryAcquire("alice"));
+		assertEquals(0L, this.limiter.tryAcquire("alice"));
+		
+		// 3 attempts must decay to 2 in the next window: 60s to roll over, then a third of it
+		final long retryAfter = this.limiter.tryAcquire("alice");
+		assertEquals(TimeUnit.SECONDS.toNanos(80), retryAfter);
+		assertEquals(0L, this.limiter.tryAcquire("bob"));
+		
+		this.clock.set(retryAfter - 1);
+		assertTrue(this.limiter.tryAcquire("alice") > 0L);
+		this.clock.set(retryAfter);
+		assertEquals(0L, this.limiter.tryAcquire("alice"));
+	}
+	
+	@Test
+	@DisplayName("Test 2: Window rollover - Previous window weighs by its remaining overlap")
+	void testTryAcquire_WeightsPreviousWindow() {
+		
+		for (int i = 0; i < 3; i++)
+			assertEquals(0L, this.limiter.tryAcquire("alice"));
+		
+		// half way into the next window the previous 3 still count as 1.5
+		this.clock.set(WINDOW + WINDOW / 2);
+		assertEquals(0L, this.limiter.tryAcquire("alice"));
+		final long retryAfter = this.limiter.tryAcquire("alice");
+		assertEquals(TimeUnit.SECONDS.toNanos(10), retryAfter);
+		
+		this.clock.addAndGet(retryAfter);
+		assertEquals(0L, this.limiter.tryAcquire("alice"));
+	}
+	
+	@Test
+	@DisplayName("Test 3: Idle for two windows - Previous attempts are forgotten")
+	void testTryAcquire_ForgetsAfterTwoWindows() {
+		
+		for (int i = 0; i < 3; i++)
+			assertEquals(0L, this.limiter.tryAcquire("alice"));
+		assertTrue(this.limiter.tryAcquire("alice") > 0L);
+		
+		this.clock.set(2 * WINDOW);
+		for (int i = 0; i < 3; i++)
+			assertEquals(0L, this.limiter.tryAcquire("alice"));
+	}
+	
+	@Test
+	@DisplayName("Test 4: Reset - Key starts over")
+	void testReset_StartsOver() {
+		
+		for (int i = 0; i < 3; i++)
+			assertEquals(0L, this.limiter.tryAcquire("alice"));
+		assertTrue(this.limiter.tryAcquire("alice") > 0L);
+		
+		this.limiter.reset("alice");
+		assertEquals(0L, this.limiter.tryAcquire("alice"));
+	}
+	
+}
@@ -0,0 +1,72 @@
+package com.selimhorri.app.config.deadline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RequestDeadlineFeignInterceptorTest {
+	
+	// the feign.client.config.default timeouts
+	private static final Request.Options CONFIGURED = new Request.Options(1000, TimeUnit.MILLISECONDS, 5000, TimeUnit.MILLISECONDS, true);
+	
+	private final AtomicReference<Request.Options> used = new AtomicReference<>();
+	private final Client upstream = (request, options) -> {
+		this.used.set(options);
+		return Response.builder().status(200).request(request).headers(Map.of()).build();
+	};
+	private final Client client = new RequestDeadlineFeignInterceptor(new SimpleMeterRegistry()).enrich(this.upstream);
+	
+	@AfterEach
+	void tearDown() {
+		RequestDeadline.end();
+	}
+	
+	private void call() throws Exception {
+		this.client.execute(Request.create(Request.HttpMethod.GET, "http://USER-SERVICE/user-service/api/users",
+				Map.of(), new byte[0], StandardCharsets.UTF_8, null), CONFIGURED);
+	}
+	
+	@Test
+	@DisplayName("Test 1: No deadline - Configured timeouts are used as they are")
+	void testExecute_KeepsOptionsWithoutDeadline() throws Exception {
+		
+		this.call();
+		assertSame(CONFIGURED, this.used.get());
+	}
+	
+	@Test
+	@DisplayName("Test 2: Short deadline - Both timeouts are capped to what is left of it")
+	void testExecute_CapsTimeoutsToDeadline() throws Exception {
+		
+		RequestDeadline.begin(300L);
+		this.call();
+		assertTrue(this.used.get().connectTimeoutMillis() <= 300);
+		assertTrue(this.used.get().readTimeoutMillis() <= 300);
+		assertTrue(this.used.get().isFollowRedirects());
+	}
+	
+	@Test
+	@DisplayName("Test 3: Long deadline - Configured timeouts stay below it")
+	void testExecute_KeepsShorterConfiguredTimeouts() throws Exception {
+		
+		RequestDeadline.begin(3000L);
+		this.call();
+		assertEquals(1000, this.used.get().connectTimeoutMillis());
+		assertTrue(this.used.get().readTimeoutMillis() <= 3000);
+	}
+	
+}
@@ -0,0 +1,162 @@
+package com.selimhorri.app.config.hedging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HedgedRequestExecutorTest {
+	
+	private static final String ROUTE = "ORDER-SERVICE";
+	
+	private final AtomicLong clock = new AtomicLong();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final CountDownLatch slowPrimary = new CountDownLatch(1);
+	private ThreadPoolTaskExecutor hedgingExecutor;
+	
+	@AfterEach
+	void tearDown() {
+		this.slowPrimary.countDown();
+		this.hedgingExecutor.shutdown();
+	}
+	
+	// two samples are enough to hedge, one hedge can be saved up and every call adds half of one
+	private HedgedRequestExecutor executor(final int parallelism, final int queueCapacity) {
+		final HedgingProperties hedgingProperties = new HedgingProperties();
+		hedgingProperties.setMinimumSamples(2);
+		hedgingProperties.setBudgetRatio(0.5);
+		hedgingProperties.setMaximumBurst(1);
+		this.hedgingExecutor = new ThreadPoolTaskExecutor();
+		this.hedgingExecutor.setCorePoolSize(parallelism);
+		this.hedgingExecutor.setMaxPoolSize(parallelism);
+		this.hedgingExecutor.setQueueCapacity(queueCapacity);
+		this.hedgingExecutor.initialize();
+		final HedgedRequestExecutor executor =
+				new HedgedRequestExecutor(hedgingProperties, this.hedgingExecutor, this.meterRegistry, this.clock::get);
+		
+		// warm the route up with 10ms calls, then let its hedge delay refresh
+		for (int i = 0; i < 2; i++)
+			assertEquals("warm", executor.execute(ROUTE, () -> {
+				this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+				return "warm";
+			}));
+		this.clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		return executor;
+	}
+	
+	// the first attempt hangs until the backup has answered, any later one answers at once
+	private Supplier<String> slowFirstAttempt() {
+		final AtomicInteger attempts = new AtomicInteger();
+		return () -> {
+			if (attempts.getAndIncrement() > 0) {
+				this.slowPrimary.countDown();
+				return "backup";
+			}
+			try {
+				this.slowPrimary.await(5, TimeUnit.SECONDS);
+			}
+			catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			sleep(100L);
+			return "primary";
+		};
+	}
+	
+	private static void sleep(final long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private double budget() {
+		return this.meterRegistry.get("hedging.budget").gauge().value();
+	}
+	
+	private double count(final String name) {
+		return this.meterRegistry.get(name).tag("route", ROUTE).counter().count();
+	}
+	
+	@Test
+	@DisplayName("Test 1: Withdrawal - A hedge spends a saved up credit and the backup answers first")
+	void testExecute_HedgeWithdrawsBudget() {
+		
+		final HedgedRequestExecutor executor = this.executor(4, 0);
+		assertEquals(1.0d, this.budget());
+		
+		assertEquals("backup", executor.execute(ROUTE, this.slowFirstAttempt()));
+		assertEquals(0.0d, this.budget());
+		assertEquals(1.0d, this.count("hedging.hedges"));
+		assertEquals(1.0d, this.count("hedging.wins"));
+		assertEquals(0.0d, this.count("hedging.budget.exhausted"));
+	}
+	
+	@Test
+	@DisplayName("Test 2: Exhausted budget - Slow call waits for the primary while the budget is spent")
+	void testExecute_ExhaustedBudgetSkipsHedge() {
+		
+		final HedgedRequestExecutor executor = this.executor(4, 0);
+		assertEquals("backup", executor.execute(ROUTE, this.slowFirstAttempt()));
+		
+		assertEquals("primary", executor.execute(ROUTE, () -> {
+			sleep(100L);
+			return "primary";
+		}));
+		assertEquals(0.5d, this.budget());
+		assertEquals(1.0d, this.count("hedging.hedges"));
+		assertEquals(1.0d, this.count("hedging.budget.exhausted"));
+	}
+	
+	@Test
+	@DisplayName("Test 3: Refund - A backup the pool rejects gives its credit back")
+	void testExecute_RejectedBackupRefunds() {
+		
+		// the only pool thread is taken and there is no queue, so the backup is rejected
+		final HedgedRequestExecutor executor = this.executor(1, 0);
+		this.hedgingExecutor.execute(() -> {
+			try {
+				this.slowPrimary.await(5, TimeUnit.SECONDS);
+			}
+			catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		
+		assertEquals("primary", executor.execute(ROUTE, () -> {
+			sleep(200L);
+			return "primary";
+		}));
+		assertEquals(1.0d, this.budget());
+		assertEquals(0.0d, this.count("hedging.hedges"));
+	}
+	
+	@Test
+	@DisplayName("Test 4: Failed primary - The caller gets the answer of the backup already sent")
+	void testExecute_FailedPrimaryFallsBackToBackup() {
+		
+		final HedgedRequestExecutor executor = this.executor(4, 0);
+		final AtomicInteger attempts = new AtomicInteger();
+		
+		assertEquals("backup", executor.execute(ROUTE, () -> {
+			if (attempts.getAndIncrement() > 0)
+				return "backup";
+			sleep(200L);
+			throw new IllegalStateException("primary failed");
+		}));
+		assertEquals(1.0d, this.count("hedging.hedges"));
+	}
+	
+}
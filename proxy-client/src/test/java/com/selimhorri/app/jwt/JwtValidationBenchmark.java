@@ -0,0 +1,99 @@
+package com.selimhorri.app.jwt;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.config.cache.CacheConfig;
+import com.selimhorri.app.config.cache.ClaimsCacheProperties;
+import com.selimhorri.app.config.jwt.JwtProperties;
+import com.selimhorri.app.jwt.util.impl.JwtUtilImpl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Compares the legacy filter path (three full parses of the same token) with
+ * the parse-once path, both without and with the verified-claims cache.
+ * Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath com.selimhorri.app.jwt.JwtValidationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+	
+	private static final String SECRET_KEY = "secret";
+	
+	private UserDetails userDetails;
+	private String token;
+	private JwtUtilImpl uncachedJwtUtil;
+	private JwtUtilImpl cachedJwtUtil;
+	
+	@Setup
+	public void setup() {
+		this.userDetails = User.withUsername("selimhorri")
+				.password("password")
+				.authorities("ROLE_USER")
+				.build();
+		final JwtProperties jwtProperties = new JwtProperties();
+		jwtProperties.setSecret(SECRET_KEY);
+		this.uncachedJwtUtil = new JwtUtilImpl(Caffeine.newBuilder().maximumSize(0).build(), jwtProperties);
+		this.cachedJwtUtil = new JwtUtilImpl(new CacheConfig().verifiedClaimsCache(new ClaimsCacheProperties()), 
+				jwtProperties);
+		this.token = this.cachedJwtUtil.generateToken(this.userDetails);
+	}
+	
+	@Benchmark
+	public boolean legacyTripleParse() {
+		final String username = legacyParse(this.token).getSubject();
+		return username != null 
+				&& legacyParse(this.token).getSubject().equals(this.userDetails.getUsername()) 
+				&& !legacyParse(this.token).getExpiration().before(new Date());
+	}
+	
+	@Benchmark
+	public boolean parseOnce() {
+		final Claims claims = this.uncachedJwtUtil.extractAllClaims(this.token);
+		return this.uncachedJwtUtil.validateToken(claims, this.userDetails);
+	}
+	
+	@Benchmark
+	public boolean parseOnceCached() {
+		final Claims claims = this.cachedJwtUtil.extractAllClaims(this.token);
+		return this.cachedJwtUtil.validateToken(claims, this.userDetails);
+	}
+	
+	private static Claims legacyParse(final String token) {
+		return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+	}
+	
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(JwtValidationBenchmark.class.getSimpleName())
+				.build())
+			.run();
+	}
+	
+	
+	
+}
@@ -0,0 +1,94 @@
+package com.selimhorri.app.jwt;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.selimhorri.app.config.jwt.JwtProperties;
+import com.selimhorri.app.jwt.revocation.TokenRevocationRegistry;
+import com.selimhorri.app.jwt.service.impl.TokenRevocationServiceImpl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cost of the per-request revocation check with a populated registry, for a live token 
+ * (Bloom filter negative path) and for a revoked one (exact lookup).
+ * Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath com.selimhorri.app.jwt.TokenRevocationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRevocationBenchmark {
+	
+	@Param({ "1000", "50000" })
+	private int revokedTokens;
+	
+	private TokenRevocationServiceImpl tokenRevocationService;
+	private Claims liveClaims;
+	private Claims revokedClaims;
+	
+	@Setup
+	public void setup() {
+		final JwtProperties jwtProperties = new JwtProperties();
+		final TokenRevocationRegistry registry = new TokenRevocationRegistry(jwtProperties, new SimpleMeterRegistry());
+		this.tokenRevocationService = new TokenRevocationServiceImpl(registry, null, jwtProperties);
+		
+		final Date expiration = new Date(System.currentTimeMillis() + jwtProperties.getExpiration().toMillis());
+		for (int i = 0; i < this.revokedTokens; i++)
+			this.tokenRevocationService.revokeToken(claims("user" + i, expiration));
+		
+		this.liveClaims = claims("selimhorri", expiration);
+		this.revokedClaims = claims("amineladjimi", expiration);
+		this.tokenRevocationService.revokeToken(this.revokedClaims);
+	}
+	
+	@Benchmark
+	public boolean liveToken() {
+		return this.tokenRevocationService.isRevoked(this.liveClaims);
+	}
+	
+	@Benchmark
+	public boolean revokedToken() {
+		return this.tokenRevocationService.isRevoked(this.revokedClaims);
+	}
+	
+	private static Claims claims(final String subject, final Date expiration) {
+		final Claims claims = new DefaultClaims();
+		claims.setId(UUID.randomUUID().toString());
+		claims.setSubject(subject);
+		claims.setIssuedAt(new Date());
+		claims.setExpiration(expiration);
+		return claims;
+	}
+	
+	public static void main(final String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(TokenRevocationBenchmark.class.getSimpleName())
+				.build())
+			.run();
+	}
+	
+	
+	
+}
@@ -0,0 +1,68 @@
+package com.selimhorri.app.jwt.revocation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.config.jwt.JwtProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TokenRevocationRegistryTest {
+	
+	private static final long GENERATION = Duration.ofMinutes(15).toMillis();
+	
+	private final AtomicLong clock = new AtomicLong(1_000_000L);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final TokenRevocationRegistry registry =
+			new TokenRevocationRegistry(new JwtProperties(), this.meterRegistry, this.clock::get);
+	
+	@Test
+	@DisplayName("Test 1: One rotation - Revoked token is still found in the previous generation")
+	void testIsTokenRevoked_SurvivesOneRotation() {
+		
+		this.registry.revokeToken("a", this.clock.get() + GENERATION);
+		assertTrue(this.registry.isTokenRevoked("a"));
+		assertFalse(this.registry.isTokenRevoked("b"));
+		
+		this.clock.addAndGet(GENERATION);
+		this.registry.revokeToken("b", this.clock.get() + GENERATION);
+		assertTrue(this.registry.isTokenRevoked("a"));
+		assertTrue(this.registry.isTokenRevoked("b"));
+		assertEquals(3.0, this.meterRegistry.counter("jwt.revocation.hits").count());
+	}
+	
+	@Test
+	@DisplayName("Test 2: Two rotations - Filter forgets tokens revoked two generations ago")
+	void testIsTokenRevoked_ForgottenAfterTwoRotations() {
+		
+		this.registry.revokeToken("a", this.clock.get() + GENERATION);
+		this.clock.addAndGet(GENERATION);
+		this.registry.revokeToken("b", this.clock.get() + GENERATION);
+		this.clock.addAndGet(GENERATION);
+		this.registry.revokeToken("c", this.clock.get() + GENERATION);
+		
+		assertFalse(this.registry.isTokenRevoked("a"));
+		assertTrue(this.registry.isTokenRevoked("b"));
+		assertTrue(this.registry.isTokenRevoked("c"));
+	}
+	
+	@Test
+	@DisplayName("Test 3: No writes - Generations never rotate on lookups alone")
+	void testIsTokenRevoked_NoRotationWithoutWrites() {
+		
+		this.registry.revokeToken("a", this.clock.get() + GENERATION);
+		this.registry.revokeSubject("alice", 42L, this.clock.get() + GENERATION);
+		
+		this.clock.addAndGet(3 * GENERATION);
+		assertTrue(this.registry.isTokenRevoked("a"));
+		assertEquals(42L, this.registry.subjectNotBefore("alice"));
+	}
+	
+}
@@ -0,0 +1,44 @@
+package com.selimhorri.app.config.deadline;
+
+import java.net.URI;
+import java.util.function.BiFunction;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.http.HttpMethod;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Caps the connect, pool and socket timeouts of an outgoing call to what is left of the request deadline, 
+ * so a slow downstream call is abandoned when the caller would no longer use its answer.
+ */
+@RequiredArgsConstructor
+public class DeadlineHttpContextFactory implements BiFunction<HttpMethod, URI, HttpContext> {
+	
+	private final RequestConfig defaultRequestConfig;
+	
+	@Override
+	public HttpContext apply(final HttpMethod method, final URI uri) {
+		
+		if (!RequestDeadline.isSet())
+			return null;
+		
+		final int remainingMillis = (int) Math.max(1L, Math.min(Integer.MAX_VALUE, RequestDeadline.remainingMillis()));
+		final HttpClientContext context = HttpClientContext.create();
+		context.setRequestConfig(RequestConfig.copy(this.defaultRequestConfig)
+				.setConnectTimeout(cap(this.defaultRequestConfig.getConnectTimeout(), remainingMillis))
+				.setConnectionRequestTimeout(cap(this.defaultRequestConfig.getConnectionRequestTimeout(), remainingMillis))
+				.setSocketTimeout(cap(this.defaultRequestConfig.getSocketTimeout(), remainingMillis))
+				.build());
+		return context;
+	}
+	
+	private static int cap(final int timeoutMillis, final int remainingMillis) {
+		return (timeoutMillis > 0) ? Math.min(timeoutMillis, remainingMillis) : remainingMillis;
+	}
+	
+	
+	
+}
@@ -0,0 +1,38 @@
+package com.selimhorri.app.config.hedging;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.selimhorri.app.config.deadline.RequestDeadline;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+@EnableConfigurationProperties(HedgingProperties.class)
+public class HedgingConfig {
+	
+	@Bean
+	public ThreadPoolTaskExecutor hedgingExecutor(final HedgingProperties hedgingProperties) {
+		final var executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(hedgingProperties.getParallelism());
+		executor.setMaxPoolSize(hedgingProperties.getParallelism());
+		executor.setQueueCapacity(hedgingProperties.getQueueCapacity());
+		executor.setAllowCoreThreadTimeOut(true);
+		executor.setThreadNamePrefix("hedging-");
+		executor.setTaskDecorator(RequestDeadline::propagate);
+		return executor;
+	}
+	
+	@Bean
+	public MeterBinder hedgingExecutorMetrics(final ThreadPoolTaskExecutor hedgingExecutor) {
+		return registry -> new ExecutorServiceMetrics(hedgingExecutor.getThreadPoolExecutor(), 
+				"hedgingExecutor", Tags.empty()).bindTo(registry);
+	}
+	
+	
+	
+}
@@ -0,0 +1,29 @@
+package com.selimhorri.app.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.selimhorri.app.domain.id.OrderItemId;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.exception.wrapper.InvalidCursorException;
+
+public interface OrderItemCursorHelper {
+	
+	public static String encode(final OrderItemDto orderItemDto) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(String.join(",", 
+						String.valueOf(orderItemDto.getProductId()), 
+						String.valueOf(orderItemDto.getOrderId()))
+				.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	public static OrderItemId decode(final String cursor) {
+		try {
+			final var keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",");
+			return new OrderItemId(Integer.parseInt(keys[0]), Integer.parseInt(keys[1]));
+		}
+		catch (final IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			throw new InvalidCursorException(String.format("Cursor: %s is not valid", cursor), e);
+		}
+	}
+	
+}
@@ -1,12 +1,24 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItemId> {
 	
+	List<OrderItem> findAllByOrderByProductIdAscOrderIdAsc(final Pageable pageable);
 	
+	@Query("SELECT o FROM OrderItem o WHERE o.productId > :productId "
+			+ "OR (o.productId = :productId AND o.orderId > :orderId) "
+			+ "ORDER BY o.productId, o.orderId")
+	List<OrderItem> findAllAfter(@Param("productId") final Integer productId, 
+			@Param("orderId") final Integer orderId, 
+			final Pageable pageable);
 	
 }
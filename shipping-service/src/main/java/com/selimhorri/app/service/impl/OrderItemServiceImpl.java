@@ -1,18 +1,28 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.config.hedging.HedgedRequestExecutor;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
 import com.selimhorri.app.repository.OrderItemRepository;
@@ -29,22 +39,26 @@ public class OrderItemServiceImpl implements OrderItemService {
 	
 	private final OrderItemRepository orderItemRepository;
 	private final RestTemplate restTemplate;
+	private final HedgedRequestExecutor hedgedRequestExecutor;
 	
 	@Override
 	public List<OrderItemDto> findAll() {
 		log.info("*** OrderItemDto List, service; fetch all orderItems *");
-		return this.orderItemRepository.findAll()
+		return this.withProductsAndOrders(this.orderItemRepository.findAll()
 				.stream()
 					.map(OrderItemMappingHelper::map)
-					.map(o -> {
-						o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-						o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
-						return o;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	public List<OrderItemDto> findAll(final OrderItemId after, final int limit) {
+		log.info("*** OrderItemDto List, service; fetch orderItems page *");
+		final var orderItems = (after == null) 
+				? this.orderItemRepository.findAllByOrderByProductIdAscOrderIdAsc(PageRequest.of(0, limit)) 
+				: this.orderItemRepository.findAllAfter(after.getProductId(), after.getOrderId(), PageRequest.of(0, limit));
+		return this.withProductsAndOrders(orderItems.stream()
+				.map(OrderItemMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList()));
 	}
 	
 	@Override
@@ -53,10 +67,12 @@ public class OrderItemServiceImpl implements OrderItemService {
 		return this.orderItemRepository.findById(null)
 				.map(OrderItemMappingHelper::map)
 				.map(o -> {
-					o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-					o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
+					o.setProductDto(this.hedgedRequestExecutor.execute("PRODUCT-SERVICE", () -> this.restTemplate
+							.getForObject(AppConstant.DiscoveredDomainsApi
+									.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class)));
+					o.setOrderDto(this.hedgedRequestExecutor.execute("ORDER-SERVICE", () -> this.restTemplate
+							.getForObject(AppConstant.DiscoveredDomainsApi
+									.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class)));
 					return o;
 				})
 				.orElseThrow(() -> new OrderItemNotFoundException(String.format("OrderItem with id: %s not found", orderItemId)));
@@ -82,6 +98,59 @@ public class OrderItemServiceImpl implements OrderItemService {
 		this.orderItemRepository.deleteById(orderItemId);
 	}
 	
+	private List<OrderItemDto> withProductsAndOrders(final List<OrderItemDto> orderItemDtos) {
+		final var productDtos = this.findProductsByIds(orderItemDtos.stream()
+				.map(OrderItemDto::getProductId)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toUnmodifiableSet()));
+		final var orderDtos = this.findOrdersByIds(orderItemDtos.stream()
+				.map(OrderItemDto::getOrderId)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toUnmodifiableSet()));
+		return orderItemDtos.stream()
+					.map(o -> {
+						o.setProductDto(productDtos.getOrDefault(o.getProductId(), o.getProductDto()));
+						o.setOrderDto(orderDtos.getOrDefault(o.getOrderId(), o.getOrderDto()));
+						return o;
+					})
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private Map<Integer, ProductDto> findProductsByIds(final Set<Integer> productIds) {
+		final var ids = new ArrayList<>(productIds);
+		final Map<Integer, ProductDto> productDtos = new HashMap<>(ids.size());
+		for (int from = 0; from < ids.size(); from += AppConstant.REMOTE_LOOKUP_CHUNK_SIZE) {
+			final var chunk = ids.subList(from, Math.min(from + AppConstant.REMOTE_LOOKUP_CHUNK_SIZE, ids.size()));
+			final var response = this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi
+					.PRODUCT_SERVICE_API_URL + "?ids=" + chunk.stream()
+							.map(String::valueOf)
+							.collect(Collectors.joining(",")), 
+					HttpMethod.GET, null, new ParameterizedTypeReference<Map<Integer, ProductDto>>() {}).getBody();
+			if (response != null) {
+				productDtos.putAll(response);
+			}
+		}
+		return productDtos;
+	}
+	
+	private Map<Integer, OrderDto> findOrdersByIds(final Set<Integer> orderIds) {
+		final var ids = new ArrayList<>(orderIds);
+		final Map<Integer, OrderDto> orderDtos = new HashMap<>(ids.size());
+		for (int from = 0; from < ids.size(); from += AppConstant.REMOTE_LOOKUP_CHUNK_SIZE) {
+			final var chunk = ids.subList(from, Math.min(from + AppConstant.REMOTE_LOOKUP_CHUNK_SIZE, ids.size()));
+			final var response = this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi
+					.ORDER_SERVICE_API_URL + "?ids=" + chunk.stream()
+							.map(String::valueOf)
+							.collect(Collectors.joining(",")), 
+					HttpMethod.GET, null, new ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>() {}).getBody();
+			if (response != null && response.getCollection() != null) {
+				response.getCollection().forEach(o -> orderDtos.put(o.getOrderId(), o));
+			}
+		}
+		return orderDtos;
+	}
+	
 	
 	
 }
@@ -0,0 +1,68 @@
+package com.selimhorri.app.config.deadline;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rejects requests whose caller has already given up with 504 before any work is done, 
+ * and sets the {@link RequestDeadline} for the others. Requests without the header have no deadline.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+@RequiredArgsConstructor
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+	
+	private final MeterRegistry meterRegistry;
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, 
+			final FilterChain filterChain) throws ServletException, IOException {
+		
+		final String header = request.getHeader(RequestDeadline.HEADER);
+		if (header == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		
+		final long remainingMillis;
+		try {
+			remainingMillis = Long.parseLong(header.trim());
+		}
+		catch (NumberFormatException e) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		
+		if (remainingMillis <= 0) {
+			log.info("** Request past its deadline, rejected: {} {} *\n", request.getMethod(), request.getRequestURI());
+			this.meterRegistry.counter("request.deadline.exceeded", "stage", "server").increment();
+			response.setStatus(HttpServletResponse.SC_GATEWAY_TIMEOUT);
+			return;
+		}
+		
+		RequestDeadline.begin(remainingMillis);
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			RequestDeadline.end();
+		}
+	}
+	
+	
+	
+}
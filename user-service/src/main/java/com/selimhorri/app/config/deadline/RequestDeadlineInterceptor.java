@@ -0,0 +1,41 @@
+package com.selimhorri.app.config.deadline;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.selimhorri.app.exception.wrapper.DeadlineExceededException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Passes the remaining budget on to the next hop, and skips the call once nothing is left.
+ */
+@RequiredArgsConstructor
+public class RequestDeadlineInterceptor implements ClientHttpRequestInterceptor {
+	
+	private final MeterRegistry meterRegistry;
+	
+	@Override
+	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body, 
+			final ClientHttpRequestExecution execution) throws IOException {
+		
+		if (RequestDeadline.isSet()) {
+			final long remainingMillis = RequestDeadline.remainingMillis();
+			if (remainingMillis <= 0) {
+				this.meterRegistry.counter("request.deadline.exceeded", "stage", "client").increment();
+				throw new DeadlineExceededException(String
+						.format("Deadline exceeded before calling %s %s", request.getMethodValue(), request.getURI()));
+			}
+			request.getHeaders().set(RequestDeadline.HEADER, String.valueOf(remainingMillis));
+		}
+		return execution.execute(request, body);
+	}
+	
+	
+	
+}
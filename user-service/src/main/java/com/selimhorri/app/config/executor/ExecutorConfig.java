@@ -0,0 +1,35 @@
+package com.selimhorri.app.config.executor;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+@EnableConfigurationProperties(InvalidationExecutorProperties.class)
+public class ExecutorConfig {
+	
+	@Bean
+	public ThreadPoolTaskExecutor invalidationExecutor(final InvalidationExecutorProperties invalidationExecutorProperties) {
+		final var executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(invalidationExecutorProperties.getParallelism());
+		executor.setMaxPoolSize(invalidationExecutorProperties.getParallelism());
+		executor.setQueueCapacity(invalidationExecutorProperties.getQueueCapacity());
+		executor.setAllowCoreThreadTimeOut(true);
+		executor.setThreadNamePrefix("invalidation-");
+		return executor;
+	}
+	
+	@Bean
+	public MeterBinder invalidationExecutorMetrics(final ThreadPoolTaskExecutor invalidationExecutor) {
+		return registry -> new ExecutorServiceMetrics(invalidationExecutor.getThreadPoolExecutor(), 
+				"invalidationExecutor", Tags.empty()).bindTo(registry);
+	}
+	
+	
+	
+}
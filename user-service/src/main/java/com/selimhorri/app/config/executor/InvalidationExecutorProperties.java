@@ -0,0 +1,21 @@
+package com.selimhorri.app.config.executor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@ConfigurationProperties(prefix = "app.invalidation-executor")
+@Data
+public class InvalidationExecutorProperties {
+	
+	/**
+	 * Max number of cache evictions (ORDER-SERVICE, FAVOURITE-SERVICE instances) in flight at once
+	 */
+	private int parallelism = 8;
+	
+	/**
+	 * Evictions waiting for a worker before new ones are dropped, the cached users then simply expire
+	 */
+	private int queueCapacity = 256;
+	
+}
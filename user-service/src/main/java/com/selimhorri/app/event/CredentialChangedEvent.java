@@ -0,0 +1,12 @@
+package com.selimhorri.app.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class CredentialChangedEvent {
+	
+	private final String username;
+	
+}
@@ -0,0 +1,92 @@
+package com.selimhorri.app.event;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Revokes the tokens already issued to a user on every running proxy-client instance 
+ * once a credential change is committed, so disabled or re-roled accounts lose access 
+ * before their tokens expire. Any other committed user change drops the cached UserDetails 
+ * of that user on every instance, whichever one served the write.
+ */
+@Component
+@Slf4j
+public class TokenRevocationListener {
+	
+	private static final String PROXY_CLIENT = "PROXY-CLIENT";
+	private static final String REVOCATION_PATH = "/app/api/authenticate/revocations/subjects/";
+	private static final String USER_DETAILS_PATH = "/app/api/authenticate/revocations/user-details/";
+	
+	private final DiscoveryClient discoveryClient;
+	private final RestTemplate restTemplate;
+	private final String revocationSecret;
+	
+	public TokenRevocationListener(final DiscoveryClient discoveryClient, 
+			@Qualifier("directRestTemplate") final RestTemplate restTemplate, 
+			@Value("${app.token-revocation.secret:}") final String revocationSecret) {
+		this.discoveryClient = discoveryClient;
+		this.restTemplate = restTemplate;
+		this.revocationSecret = revocationSecret;
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCredentialChanged(final CredentialChangedEvent event) {
+		
+		if (event.getUsername() == null || this.revocationSecret.isBlank())
+			return;
+		
+		final HttpEntity<Void> request = this.request();
+		
+		this.discoveryClient.getInstances(PROXY_CLIENT)
+				.forEach(instance -> {
+					try {
+						this.restTemplate.postForObject(instance.getUri() + REVOCATION_PATH + event.getUsername(), 
+								request, Boolean.class);
+					}
+					catch (final RestClientException e) {
+						log.warn("*** could not revoke tokens of {} at {}: {} *", 
+								event.getUsername(), instance.getUri(), e.getMessage());
+					}
+				});
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserChanged(final UserChangedEvent event) {
+		
+		if (event.getUserId() == null || this.revocationSecret.isBlank())
+			return;
+		
+		final HttpEntity<Void> request = this.request();
+		
+		this.discoveryClient.getInstances(PROXY_CLIENT)
+				.forEach(instance -> {
+					try {
+						this.restTemplate.exchange(instance.getUri() + USER_DETAILS_PATH + event.getUserId(), 
+								HttpMethod.DELETE, request, Boolean.class);
+					}
+					catch (final RestClientException e) {
+						log.warn("*** could not evict user details of {} at {}: {} *", 
+								event.getUserId(), instance.getUri(), e.getMessage());
+					}
+				});
+	}
+	
+	private HttpEntity<Void> request() {
+		final HttpHeaders headers = new HttpHeaders();
+		headers.set("X-Revocation-Secret", this.revocationSecret);
+		return new HttpEntity<>(headers);
+	}
+	
+	
+	
+}
@@ -0,0 +1,82 @@
+package com.selimhorri.app.event;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evicts a changed user from the near caches of every running instance of the services holding one, 
+ * once the change is committed. Each instance must be called directly, hence no load balancing here, 
+ * and the calls go out in parallel on the invalidation executor so the committing thread never waits on them. 
+ * Without an eviction secret the instances would refuse the call, so cached users simply expire.
+ */
+@Component
+@Slf4j
+public class UserCacheInvalidationListener {
+	
+	private static final Map<String, String> USER_CACHE_PATHS = Map.of(
+			"ORDER-SERVICE", "/order-service/api/cache/users/", 
+			"FAVOURITE-SERVICE", "/favourite-service/api/cache/users/");
+	
+	private final DiscoveryClient discoveryClient;
+	private final RestTemplate restTemplate;
+	private final ThreadPoolTaskExecutor invalidationExecutor;
+	private final String evictionSecret;
+	
+	public UserCacheInvalidationListener(final DiscoveryClient discoveryClient, 
+			@Qualifier("directRestTemplate") final RestTemplate restTemplate, 
+			final ThreadPoolTaskExecutor invalidationExecutor, 
+			@Value("${app.user-cache.eviction-secret:}") final String evictionSecret) {
+		this.discoveryClient = discoveryClient;
+		this.restTemplate = restTemplate;
+		this.invalidationExecutor = invalidationExecutor;
+		this.evictionSecret = evictionSecret;
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserChanged(final UserChangedEvent event) {
+		
+		if (this.evictionSecret.isBlank())
+			return;
+		
+		final HttpHeaders headers = new HttpHeaders();
+		headers.set("X-Cache-Eviction-Secret", this.evictionSecret);
+		final HttpEntity<Void> request = new HttpEntity<>(headers);
+		
+		USER_CACHE_PATHS.forEach((serviceId, path) -> this.discoveryClient.getInstances(serviceId)
+				.forEach(instance -> {
+					try {
+						this.invalidationExecutor.execute(() -> this.evict(request, instance.getUri() + path + event.getUserId()));
+					}
+					catch (final TaskRejectedException e) {
+						log.warn("*** could not schedule eviction of user {} from {} at {}: {} *", 
+								event.getUserId(), serviceId, instance.getUri(), e.getMessage());
+					}
+				}));
+	}
+	
+	private void evict(final HttpEntity<Void> request, final String url) {
+		try {
+			this.restTemplate.exchange(url, HttpMethod.DELETE, request, Boolean.class);
+		}
+		catch (final RestClientException e) {
+			log.warn("*** could not evict cached user at {}: {} *", url, e.getMessage());
+		}
+	}
+	
+	
+	
+}
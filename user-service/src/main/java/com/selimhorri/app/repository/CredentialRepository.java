@@ -3,11 +3,19 @@ package com.selimhorri.app.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.dto.CredentialAuthDto;
 
 public interface CredentialRepository extends JpaRepository<Credential, Integer> {
 	
 	Optional<Credential> findByUsername(final String username);
 	
+	@Query("SELECT new com.selimhorri.app.dto.CredentialAuthDto(c.credentialId, c.user.userId, c.username, c.password, "
+			+ "c.roleBasedAuthority, c.isEnabled, c.isAccountNonExpired, c.isAccountNonLocked, c.isCredentialsNonExpired) "
+			+ "FROM Credential c WHERE c.username = :username")
+	Optional<CredentialAuthDto> findAuthByUsername(@Param("username") final String username);
+	
 }
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.dto.CredentialAuthDto;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.CredentialService;
@@ -91,6 +92,15 @@ public class CredentialResource {
 		log.info("*** CredentialDto, resource; update credential with credentialId *");
 		return ResponseEntity.ok(this.credentialService.findByUsername(username));
 	}
+	@GetMapping("/username/{username}/auth")
+	public ResponseEntity<CredentialAuthDto> findAuthByUsername(
+			@PathVariable("username") 
+			@NotBlank(message = "Input must not blank") 
+			@Valid final String username) {
+		log.info("*** CredentialAuthDto, resource; fetch credential auth projection by username *");
+		return ResponseEntity.ok(this.credentialService.findAuthByUsername(username));
+	}
+	
 	
 	
 	
@@ -2,6 +2,7 @@ package com.selimhorri.app.service;
 
 import java.util.List;
 
+import com.selimhorri.app.dto.CredentialAuthDto;
 import com.selimhorri.app.dto.CredentialDto;
 
 public interface CredentialService {
@@ -13,6 +14,7 @@ public interface CredentialService {
 	CredentialDto update(final Integer credentialId, final CredentialDto credentialDto);
 	void deleteById(final Integer credentialId);
 	CredentialDto findByUsername(final String username);
+	CredentialAuthDto findAuthByUsername(final String username);
 	
 }
 
@@ -1,5 +1,6 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.UserDto;
@@ -7,12 +8,14 @@ import com.selimhorri.app.dto.UserDto;
 public interface UserService {
 	
 	List<UserDto> findAll();
+	List<UserDto> findAll(final Integer after, final int limit);
 	UserDto findById(final Integer userId);
 	UserDto save(final UserDto userDto);
 	UserDto update(final UserDto userDto);
 	UserDto update(final Integer userId, final UserDto userDto);
 	void deleteById(final Integer userId);
 	UserDto findByUsername(final String username);
+	List<UserDto> findAllByIds(final Collection<Integer> userIds);
 	
 }
 
@@ -5,9 +5,12 @@ import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.dto.CredentialAuthDto;
 import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.event.CredentialChangedEvent;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.helper.CredentialMappingHelper;
@@ -24,6 +27,7 @@ import lombok.extern.slf4j.Slf4j;
 public class CredentialServiceImpl implements CredentialService {
 	
 	private final CredentialRepository credentialRepository;
+	private final ApplicationEventPublisher eventPublisher;
 	
 	@Override
 	public List<CredentialDto> findAll() {
@@ -52,19 +56,25 @@ public class CredentialServiceImpl implements CredentialService {
 	@Override
 	public CredentialDto update(final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, service; update credential *");
-		return CredentialMappingHelper.map(this.credentialRepository.save(CredentialMappingHelper.map(credentialDto)));
+		final CredentialDto updated = CredentialMappingHelper.map(this.credentialRepository.save(CredentialMappingHelper.map(credentialDto)));
+		this.eventPublisher.publishEvent(new CredentialChangedEvent(updated.getUsername()));
+		return updated;
 	}
 	
 	@Override
 	public CredentialDto update(final Integer credentialId, final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, service; update credential with credentialId *");
-		return CredentialMappingHelper.map(this.credentialRepository.save(
+		final CredentialDto updated = CredentialMappingHelper.map(this.credentialRepository.save(
 				CredentialMappingHelper.map(this.findById(credentialId))));
+		this.eventPublisher.publishEvent(new CredentialChangedEvent(updated.getUsername()));
+		return updated;
 	}
 	
 	@Override
 	public void deleteById(final Integer credentialId) {
 		log.info("*** Void, service; delete credential by id *");
+		this.credentialRepository.findById(credentialId)
+				.ifPresent(credential -> this.eventPublisher.publishEvent(new CredentialChangedEvent(credential.getUsername())));
 		this.credentialRepository.deleteById(credentialId);
 	}
 	
@@ -73,6 +83,13 @@ public class CredentialServiceImpl implements CredentialService {
 		return CredentialMappingHelper.map(this.credentialRepository.findByUsername(username)
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("#### Credential with username: %s not found! ####", username))));
 	}
+	@Override
+	public CredentialAuthDto findAuthByUsername(final String username) {
+		log.info("*** CredentialAuthDto, service; fetch credential auth projection by username *");
+		return this.credentialRepository.findAuthByUsername(username)
+				.orElseThrow(() -> new UserObjectNotFoundException(String.format("#### Credential with username: %s not found! ####", username)));
+	}
+	
 	
 	
 	
@@ -1,13 +1,17 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.event.UserChangedEvent;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.helper.UserMappingHelper;
 import com.selimhorri.app.repository.UserRepository;
@@ -26,6 +30,7 @@ import com.selimhorri.app.domain.User;
 public class UserServiceImpl implements UserService {
 	
 	private final UserRepository userRepository;
+	private final ApplicationEventPublisher eventPublisher;
 	
 	@Override
 	public List<UserDto> findAll() {
@@ -37,6 +42,15 @@ public class UserServiceImpl implements UserService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public List<UserDto> findAll(final Integer after, final int limit) {
+		log.info("*** UserDto List, service; fetch users page *");
+		return this.userRepository.findAllByUserIdGreaterThanOrderByUserIdAsc((after != null) ? after : 0, PageRequest.of(0, limit))
+				.stream()
+					.map(UserMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public UserDto findById(final Integer userId) {
 		log.info("*** UserDto, service; fetch user by id *");
@@ -116,6 +130,7 @@ public class UserServiceImpl implements UserService {
 			}
 		}
 		
+		this.eventPublisher.publishEvent(new UserChangedEvent(user.getUserId()));
 		return UserMappingHelper.map(this.userRepository.save(user));
 	}
 	
@@ -159,6 +174,7 @@ public class UserServiceImpl implements UserService {
 			}
 		}
 		
+		this.eventPublisher.publishEvent(new UserChangedEvent(user.getUserId()));
 		return UserMappingHelper.map(this.userRepository.save(user));
 	}
 	
@@ -166,6 +182,7 @@ public class UserServiceImpl implements UserService {
 	public void deleteById(final Integer userId) {
 		log.info("*** Void, service; delete user by id *");
 		this.userRepository.deleteById(userId);
+		this.eventPublisher.publishEvent(new UserChangedEvent(userId));
 	}
 	
 	@Override
@@ -175,6 +192,19 @@ public class UserServiceImpl implements UserService {
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("User with username: %s not found", username))));
 	}
 	
+	@Override
+	public List<UserDto> findAllByIds(final Collection<Integer> userIds) {
+		log.info("*** UserDto List, service; fetch users by ids *");
+		if (userIds == null || userIds.isEmpty()) {
+			return List.of();
+		}
+		return this.userRepository.findAllByUserIdIn(userIds)
+				.stream()
+					.map(UserMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	
 	
 }
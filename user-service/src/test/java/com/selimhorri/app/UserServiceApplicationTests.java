@@ -3,6 +3,8 @@ package com.selimhorri.app;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -10,11 +12,13 @@ import static org.mockito.Mockito.when;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -204,6 +208,39 @@ class UserServiceApplicationTests {
 		assertEquals("johndoe", result.getUsername());
 		verify(credentialRepository, times(1)).findByUsername("johndoe");
 	}
+	
+	@Test
+	@DisplayName("Test 6: Find users by ids - Single batched query")
+	void testFindUsersByIds_Success() {
+		
+		Credential credential = Credential.builder()
+				.credentialId(1)
+				.username("johndoe")
+				.password("password123")
+				.roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+				.build();
+		
+		User user = User.builder()
+				.userId(1)
+				.firstName("John")
+				.lastName("Doe")
+				.credential(credential)
+				.build();
+		
+		credential.setUser(user);
+		
+		when(userRepository.findAllByUserIdIn(Set.of(1, 999))).thenReturn(List.of(user));
+		
+		List<UserDto> result = userService.findAllByIds(Set.of(1, 999));
+		
+		assertEquals(1, result.size());
+		assertEquals(1, result.get(0).getUserId());
+		verify(userRepository, times(1)).findAllByUserIdIn(Set.of(1, 999));
+		
+		assertTrue(userService.findAllByIds(Set.of()).isEmpty());
+		verify(userRepository, times(1)).findAllByUserIdIn(ArgumentMatchers.anyCollection());
+		verify(userRepository, never()).findAll();
+	}
 }
 
 